@@ -0,0 +1,89 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares two JMH JSON result files (-rf json) and exits non-zero when a benchmark regressed past the threshold:
+//
+//   java -cp benchmarks/target/benchmarks.jar com.karunamay.airlink.benchmarks.BenchmarkComparison \
+//       baseline.json target/jmh-result.json [thresholdPercent]
+//
+// Time-per-operation scores (us/op) regress upwards, throughput scores (ops/s) downwards.
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", after.value(), "new");
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            double slowdown = after.unit().startsWith("ops/") ? -change : change;
+            // Changes inside the combined error bars are noise, whatever their size.
+            boolean significant = Math.abs(after.value() - before.value()) > before.error() + after.error();
+            boolean regressed = significant && slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(
+                    "%-90s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    entry.getKey(),
+                    before.value(),
+                    after.value(),
+                    change,
+                    after.unit(),
+                    regressed ? "  REGRESSION" : ""
+            );
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws Exception {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.get("scoreError").isNumber() ? metric.get("scoreError").asDouble() : 0;
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(), error, metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(double value, double error, String unit) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.karunamay.airlink.mapper.PageMapper;
+import com.karunamay.airlink.mapper.booking.BookingMapper;
+import com.karunamay.airlink.mapper.booking.PassengerMapper;
+import com.karunamay.airlink.mapper.flight.*;
+import com.karunamay.airlink.model.booking.Booking;
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.booking.Gender;
+import com.karunamay.airlink.model.booking.Passenger;
+import com.karunamay.airlink.model.flight.*;
+import com.karunamay.airlink.model.payment.PaymentStatus;
+import com.karunamay.airlink.model.user.Role;
+import com.karunamay.airlink.model.user.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Detached entity graphs and repository-free mappers, so the suites measure mapping and serialization only.
+// Mappers only touch their repositories in toEntity/toResponseDTO, which the suites do not call.
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 1, 15, 9, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Mappers mappers() {
+        PageMapper pageMapper = new PageMapper();
+        FlightMapper flightMapper = new FlightMapper(
+                null,
+                new AirlineMapper(),
+                new AircraftMapper(null, null),
+                new AirportMapper(pageMapper),
+                pageMapper,
+                null,
+                null,
+                null
+        );
+        SeatMapper seatMapper = new SeatMapper(flightMapper, null, null, null, pageMapper);
+        PassengerMapper passengerMapper = new PassengerMapper(null, null, pageMapper, seatMapper);
+        BookingMapper bookingMapper = new BookingMapper(passengerMapper, null, null, pageMapper, flightMapper, null);
+        return new Mappers(pageMapper, flightMapper, bookingMapper);
+    }
+
+    public static Page<Flight> flightPage(int size) {
+        Airline airline = Airline.builder().id(1L).code("AI").name("Air India").createdAt(DEPARTURE).build();
+        Aircraft aircraft = Aircraft.builder()
+                .id(1L)
+                .model("A320neo")
+                .registrationNumber("VT-EXA")
+                .capacity(180)
+                .airline(airline)
+                .build();
+        Airport src = Airport.builder().id(1L).code("DEL").name("Indira Gandhi International").city("Delhi").build();
+        Airport dest = Airport.builder().id(2L).code("BOM").name("Chhatrapati Shivaji Maharaj").city("Mumbai").build();
+
+        List<Flight> flights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            flights.add(Flight.builder()
+                    .id((long) i + 1)
+                    .airline(airline)
+                    .aircraft(aircraft)
+                    .srcAirport(src)
+                    .destAirport(dest)
+                    .flightNo("AI" + (100 + i))
+                    .departureTime(DEPARTURE.plusHours(i))
+                    .arrivalTime(DEPARTURE.plusHours(i + 2))
+                    .basePrice(BigDecimal.valueOf(4500 + i))
+                    .createdAt(DEPARTURE)
+                    .updatedAt(DEPARTURE)
+                    .build());
+        }
+        return new PageImpl<>(flights, PageRequest.of(0, size), size * 10L);
+    }
+
+    public static Page<Booking> bookingPage(int size, int passengersPerBooking) {
+        User user = user(1);
+        List<Flight> flights = flightPage(size).getContent();
+
+        List<Booking> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Flight flight = flights.get(i);
+            Booking booking = Booking.builder()
+                    .id((long) i + 1)
+                    .pnrCode("PNR" + (100000 + i))
+                    .user(user)
+                    .flight(flight)
+                    .totalAmount(flight.getBasePrice().multiply(BigDecimal.valueOf(passengersPerBooking)))
+                    .passengerCount(passengersPerBooking)
+                    .bookingStatus(BookingStatus.CONFIRMED)
+                    .paymentStatus(PaymentStatus.PAID)
+                    .createdAt(DEPARTURE.minusDays(7))
+                    .build();
+            for (int p = 0; p < passengersPerBooking; p++) {
+                Seat seat = Seat.builder()
+                        .id((long) i * passengersPerBooking + p + 1)
+                        .flight(flight)
+                        .seatNo((p + 1) + "A")
+                        .seatClass(SeatClass.ECONOMY)
+                        .available(false)
+                        .priceModifier(BigDecimal.ONE)
+                        .build();
+                booking.getPassengers().add(Passenger.builder()
+                        .id(seat.getId())
+                        .booking(booking)
+                        .firstName("Passenger")
+                        .lastName(String.valueOf(p))
+                        .dob(LocalDate.of(1990, 1, 1).plusDays(p))
+                        .gender(Gender.OTHER)
+                        .govtIdNo("ID" + seat.getId())
+                        .email("passenger" + p + "@example.com")
+                        .phone("9000000000")
+                        .seat(seat)
+                        .build());
+            }
+            bookings.add(booking);
+        }
+        return new PageImpl<>(bookings, PageRequest.of(0, size), size * 10L);
+    }
+
+    public static User user(int roleCount) {
+        User user = User.builder()
+                .id(1L)
+                .username("benchmark-user")
+                .email("benchmark-user@example.com")
+                .password("{noop}password")
+                .build();
+        for (int i = 0; i < roleCount; i++) {
+            user.getRoles().add(Role.builder().id((long) i + 1).name(i == 0 ? "ROLE_USER" : "ROLE_" + i).build());
+        }
+        return user;
+    }
+
+    public record Mappers(PageMapper pageMapper, FlightMapper flightMapper, BookingMapper bookingMapper) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.karunamay.airlink.service.security.JwtTokenProvider;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    public static void invoke(Object target, String name) {
+        Method method = ReflectionUtils.findMethod(target.getClass(), name);
+        if (method == null) {
+            throw new IllegalArgumentException("No method " + name + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(method);
+        ReflectionUtils.invokeMethod(method, target);
+    }
+
+    public static KeyPair generateKeyPair(String jwsAlgorithm) throws Exception {
+        return switch (jwsAlgorithm) {
+            case "RS256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                yield generator.generateKeyPair();
+            }
+            case "ES256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                yield generator.generateKeyPair();
+            }
+            case "EdDSA" -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            default -> throw new IllegalArgumentException("Unsupported algorithm " + jwsAlgorithm);
+        };
+    }
+
+    public static JwtTokenProvider jwtTokenProvider(String jwsAlgorithm) throws Exception {
+        KeyPair keyPair = generateKeyPair(jwsAlgorithm);
+        Path privateKey = writePem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        Path publicKey = writePem("PUBLIC KEY", keyPair.getPublic().getEncoded());
+
+        JwtTokenProvider provider = new JwtTokenProvider();
+        setField(provider, "accessTokenExpirationInSec", "18000");
+        setField(provider, "refreshTokenExpirationInSec", "3600000");
+        setField(provider, "issuer", "airlink");
+        setField(provider, "audience", "airlink-client");
+        setField(provider, "privateKeySystemPath", privateKey.toString());
+        setField(provider, "publicKeySystemPath", publicKey.toString());
+        setField(provider, "signatureAlgorithm", jwsAlgorithm);
+        setField(provider, "acceptedPublicKeySystemPaths", List.of());
+        provider.init();
+        return provider;
+    }
+
+    public static Connection openConnection(boolean rewriteBatchedInserts) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("airlink.bench.db.username", "postgres"));
+        properties.setProperty("password", System.getProperty("airlink.bench.db.password", "postgres"));
+        properties.setProperty("reWriteBatchedInserts", String.valueOf(rewriteBatchedInserts));
+        return DriverManager.getConnection(
+                System.getProperty("airlink.bench.db.url", "jdbc:postgresql://localhost:5432/airlink"),
+                properties
+        );
+    }
+
+    private static Path writePem(String type, byte[] encoded) throws IOException {
+        Path file = Files.createTempFile("airlink-bench-", ".pem");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(encoded)
+                + "\n-----END " + type + "-----\n");
+        return file;
+    }
+}
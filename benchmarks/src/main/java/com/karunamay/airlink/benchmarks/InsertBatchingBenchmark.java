@@ -0,0 +1,169 @@
+package com.karunamay.airlink.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// Replays what Hibernate sends for IDENTITY ids (one round trip per row to read the key back) versus pooled
+// sequences with JDBC batching, against scratch copies of the migrated tables. Connection via -Dairlink.bench.db.*.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 180;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"seats", "passengers", "bookings"})
+    private String table;
+
+    @Param({"IDENTITY", "POOLED_SEQUENCE"})
+    private String strategy;
+
+    private Connection connection;
+    private String scratchTable;
+    private String columns;
+    private long nextId;
+    private long maxId;
+    private long row;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = BenchmarkSupport.openConnection(pooled());
+        scratchTable = "bench_" + table;
+        columns = switch (table) {
+            case "seats" -> "flight_id, seat_no, seat_class, is_available, price_modifier, created_at, updated_at";
+            case "passengers" -> "first_name, middle_name, last_name, suffix, dob, gender, id_number, email, phone, "
+                    + "checked_bag_count, seat_id, created_at, updated_at";
+            case "bookings" -> "user_id, flight_id, total_amount, passenger_count, booking_status, payment_status, "
+                    + "pnr_code, created_at, updated_at";
+            default -> throw new IllegalArgumentException("Unsupported table " + table);
+        };
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + scratchTable);
+            statement.execute("DROP SEQUENCE IF EXISTS " + scratchTable + "_id_seq");
+            statement.execute("CREATE TABLE " + scratchTable + " (LIKE " + table + ")");
+            if (pooled()) {
+                statement.execute("CREATE SEQUENCE " + scratchTable + "_id_seq INCREMENT BY " + BATCH_SIZE);
+            } else {
+                statement.execute("ALTER TABLE " + scratchTable + " ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+            }
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + scratchTable);
+            statement.execute("DROP SEQUENCE IF EXISTS " + scratchTable + "_id_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insert() throws SQLException {
+        if (pooled()) {
+            insertBatched();
+        } else {
+            insertRowByRow();
+        }
+        connection.commit();
+    }
+
+    private void insertRowByRow() throws SQLException {
+        String sql = "INSERT INTO " + scratchTable + " (" + columns + ") VALUES (" + placeholders(0) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                bind(statement, 1, row++);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+    }
+
+    private void insertBatched() throws SQLException {
+        String sql = "INSERT INTO " + scratchTable + " (id, " + columns + ") VALUES (" + placeholders(1) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= ROWS_PER_TRANSACTION; i++) {
+                statement.setLong(1, nextPooledId());
+                bind(statement, 2, row++);
+                statement.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private long nextPooledId() throws SQLException {
+        if (nextId >= maxId) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT nextval('" + scratchTable + "_id_seq')")) {
+                result.next();
+                maxId = result.getLong(1);
+                nextId = maxId - BATCH_SIZE;
+            }
+        }
+        return ++nextId;
+    }
+
+    private void bind(PreparedStatement statement, int index, long n) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        switch (table) {
+            case "seats" -> {
+                statement.setLong(index++, 1 + n / 180);
+                statement.setString(index++, (n % 30 + 1) + String.valueOf((char) ('A' + n % 6)));
+                statement.setString(index++, n % 180 < 24 ? "BUSINESS" : "ECONOMY");
+                statement.setBoolean(index++, true);
+                statement.setBigDecimal(index++, BigDecimal.ONE);
+            }
+            case "passengers" -> {
+                statement.setString(index++, "First" + n);
+                statement.setString(index++, "Middle");
+                statement.setString(index++, "Last" + n);
+                statement.setString(index++, "MR");
+                statement.setDate(index++, Date.valueOf(LocalDate.of(1990, 1, 1).plusDays(n % 10000)));
+                statement.setString(index++, "MALE");
+                statement.setString(index++, "ID" + n);
+                statement.setString(index++, "passenger" + n + "@example.com");
+                statement.setString(index++, "9000000000");
+                statement.setInt(index++, (int) (n % 3));
+                statement.setLong(index++, n + 1);
+            }
+            default -> {
+                statement.setLong(index++, 1 + n % 1000);
+                statement.setLong(index++, 1 + n / 180);
+                statement.setBigDecimal(index++, BigDecimal.valueOf(4999, 2));
+                statement.setInt(index++, 1 + (int) (n % 9));
+                statement.setString(index++, "PENDING");
+                statement.setString(index++, "PENDING");
+                statement.setString(index++, Long.toString(36L * 36 * 36 * 36 * 36 * 36 + n, 36));
+            }
+        }
+        statement.setTimestamp(index++, now);
+        statement.setTimestamp(index, now);
+    }
+
+    private String placeholders(int extra) {
+        return String.join(", ", Collections.nCopies(columns.split(",").length + extra, "?"));
+    }
+
+    private boolean pooled() {
+        return "POOLED_SEQUENCE".equals(strategy);
+    }
+}
@@ -0,0 +1,52 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.karunamay.airlink.dto.api.RestApiResponse;
+import com.karunamay.airlink.dto.flight.FlightResponseDTO;
+import com.karunamay.airlink.dto.pagination.PageResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<RestApiResponse<PageResponseDTO<FlightResponseDTO>>> RESPONSE_TYPE =
+            new TypeReference<>() {
+            };
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter responseWriter;
+    private RestApiResponse<PageResponseDTO<FlightResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converter: JSR-310 types as ISO strings.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(RESPONSE_TYPE);
+        response = RestApiResponse.success(
+                BenchmarkFixtures.mappers().flightMapper().toPageResponseDTO(BenchmarkFixtures.flightPage(pageSize))
+        );
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] typedWriterAsBytes() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,101 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.karunamay.airlink.model.user.User;
+import com.karunamay.airlink.service.metrics.FunnelMetrics;
+import com.karunamay.airlink.service.security.JwtAuthenticationFilter;
+import com.karunamay.airlink.service.security.JwtTokenProvider;
+import com.karunamay.airlink.service.token.BlackListTokenService;
+import com.karunamay.airlink.service.user.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Full filter pass with in-memory collaborators: token extraction, signature check, revocation lookup,
+// user load and SecurityContext population. Database latency is out of scope here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    @Param({"header", "cookie"})
+    private String transport;
+
+    @Param({"false", "true"})
+    private boolean metricsEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtTokenProvider provider = BenchmarkSupport.jwtTokenProvider(algorithm);
+        User user = BenchmarkFixtures.user(1);
+        String token = provider.generateAccessToken(user.getUsername());
+
+        BlackListTokenService blackListTokenService = new BlackListTokenService() {
+            @Override
+            public void revoke(String tokenId, User revokedBy, Date expiresAt) {
+            }
+
+            @Override
+            public boolean isRevoked(String tokenId) {
+                return false;
+            }
+        };
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+        FunnelMetrics funnelMetrics = new FunnelMetrics(new SimpleMeterRegistry());
+        BenchmarkSupport.setField(funnelMetrics, "enabled", metricsEnabled);
+        BenchmarkSupport.invoke(funnelMetrics, "register");
+
+        filter = new JwtAuthenticationFilter(
+                blackListTokenService,
+                userDetailsService,
+                provider,
+                (request, response, handler, ex) -> {
+                    throw new IllegalStateException("Filter rejected the benchmark token", ex);
+                },
+                funnelMetrics
+        );
+
+        request = new MockHttpServletRequest("GET", "/api/bookings");
+        if (transport.equals("header")) {
+            request.addHeader("Authorization", "Bearer " + token);
+        } else {
+            request.setCookies(new Cookie("accessToken", token));
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.karunamay.airlink.service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider = BenchmarkSupport.jwtTokenProvider(algorithm);
+        token = provider.generateAccessToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String sign() {
+        return provider.generateAccessToken("benchmark-user");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return provider.validateAndParseClaims(token).getPayload();
+    }
+}
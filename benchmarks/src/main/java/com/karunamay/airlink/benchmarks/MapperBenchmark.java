@@ -0,0 +1,59 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.karunamay.airlink.dto.booking.BookingResponseDTO;
+import com.karunamay.airlink.dto.flight.FlightResponseDTO;
+import com.karunamay.airlink.dto.pagination.PageResponseDTO;
+import com.karunamay.airlink.model.booking.Booking;
+import com.karunamay.airlink.model.flight.Flight;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // 20 is the controllers' default page size.
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private BenchmarkFixtures.Mappers mappers;
+    private Page<Flight> flightPage;
+    private Page<Booking> bookingPage;
+    private Flight flight;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        mappers = BenchmarkFixtures.mappers();
+        flightPage = BenchmarkFixtures.flightPage(pageSize);
+        bookingPage = BenchmarkFixtures.bookingPage(pageSize, 3);
+        flight = flightPage.getContent().get(0);
+        booking = bookingPage.getContent().get(0);
+    }
+
+    @Benchmark
+    public FlightResponseDTO flightToBasicResponse() {
+        return mappers.flightMapper().toBasicResponseDTO(flight);
+    }
+
+    @Benchmark
+    public BookingResponseDTO bookingToBasicResponse() {
+        return mappers.bookingMapper().toBasicResponseDTO(booking);
+    }
+
+    @Benchmark
+    public PageResponseDTO<FlightResponseDTO> flightPage() {
+        return mappers.flightMapper().toPageResponseDTO(flightPage);
+    }
+
+    @Benchmark
+    public PageResponseDTO<BookingResponseDTO> bookingPage() {
+        return mappers.bookingMapper().toPageResponseDTO(bookingPage);
+    }
+}
@@ -0,0 +1,145 @@
+package com.karunamay.airlink.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// A burst of booking-shaped requests served by Tomcat's default 200 platform threads versus one virtual thread
+// per request, sharing a Hikari pool. Each request reads the flight and its free seats, waits on the payment
+// provider without holding a connection, then locks two seats and rolls back so the dataset is left untouched.
+// Needs a database seeded by the load-test DatasetGenerator; connection via -Dairlink.bench.db.*.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int REQUESTS_PER_BURST = 2000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"10", "40"})
+    private int poolSize;
+
+    @Param({"0", "50"})
+    private int providerLatencyMs;
+
+    private HikariDataSource dataSource;
+    private ExecutorService executor;
+    private List<Long> flightIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("airlink.bench.db.url", "jdbc:postgresql://localhost:5432/airlink"));
+        config.setUsername(System.getProperty("airlink.bench.db.username", "postgres"));
+        config.setPassword(System.getProperty("airlink.bench.db.password", "postgres"));
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(TimeUnit.MINUTES.toMillis(1));
+        dataSource = new HikariDataSource(config);
+
+        flightIds = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id FROM flights WHERE departure_time > now() ORDER BY random() LIMIT 1000"
+             );
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                flightIds.add(resultSet.getLong(1));
+            }
+        }
+        if (flightIds.isEmpty()) {
+            throw new IllegalStateException("No upcoming flights found; run the load-test DatasetGenerator first");
+        }
+
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS_PER_BURST)
+    public int burst() throws Exception {
+        List<Future<Integer>> requests = new ArrayList<>(REQUESTS_PER_BURST);
+        for (int i = 0; i < REQUESTS_PER_BURST; i++) {
+            long flightId = flightIds.get(ThreadLocalRandom.current().nextInt(flightIds.size()));
+            requests.add(executor.submit(() -> book(flightId)));
+        }
+        int seats = 0;
+        for (Future<Integer> request : requests) {
+            seats += request.get();
+        }
+        return seats;
+    }
+
+    private int book(long flightId) throws SQLException, InterruptedException {
+        List<Long> seatIds = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (PreparedStatement flight = connection.prepareStatement(
+                    "SELECT flight_no, base_price, departure_time FROM flights WHERE id = ?"
+            )) {
+                flight.setLong(1, flightId);
+                try (ResultSet resultSet = flight.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+            try (PreparedStatement seats = connection.prepareStatement(
+                    "SELECT id FROM seats WHERE flight_id = ? AND is_available ORDER BY id LIMIT 2"
+            )) {
+                seats.setLong(1, flightId);
+                try (ResultSet resultSet = seats.executeQuery()) {
+                    while (resultSet.next()) {
+                        seatIds.add(resultSet.getLong(1));
+                    }
+                }
+            }
+            connection.setReadOnly(false);
+        }
+
+        if (providerLatencyMs > 0) {
+            Thread.sleep(providerLatencyMs);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "SELECT id FROM seats WHERE id = ANY (?) FOR UPDATE"
+            )) {
+                lock.setArray(1, connection.createArrayOf("bigint", seatIds.toArray()));
+                try (ResultSet resultSet = lock.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getLong(1);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+        return seatIds.size();
+    }
+}
@@ -0,0 +1,398 @@
+package com.karunamay.airlink.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Seeds a synthetic airline network through COPY. The same seed and sizes always produce the same rows, so runs
+// against a freshly generated dataset are comparable across releases:
+//
+//   java -Dairlink.load.reset=true -Dairlink.load.flights=100000 -Dairlink.load.users=1000000 \
+//       -cp loadtest/target/loadtest.jar com.karunamay.airlink.loadtest.DatasetGenerator
+//
+// Generated users all share airlink.load.userPassword and are emailed at @loadtest.airlink, which is how
+// LoadDriver finds them.
+public final class DatasetGenerator {
+
+    static final String USER_EMAIL_DOMAIN = "@loadtest.airlink";
+
+    private static final String[][] HUB_AIRPORTS = {
+            {"DEL", "Indira Gandhi International", "Delhi"},
+            {"BOM", "Chhatrapati Shivaji Maharaj Intl", "Mumbai"},
+            {"BLR", "Kempegowda International", "Bengaluru"},
+            {"HYD", "Rajiv Gandhi International", "Hyderabad"},
+            {"MAA", "Chennai International", "Chennai"},
+            {"CCU", "Netaji Subhas Chandra Bose Intl", "Kolkata"},
+            {"AMD", "Sardar Vallabhbhai Patel Intl", "Ahmedabad"},
+            {"COK", "Cochin International", "Kochi"},
+            {"PNQ", "Pune Airport", "Pune"},
+            {"GOI", "Goa International", "Goa"},
+            {"JAI", "Jaipur International", "Jaipur"},
+            {"LKO", "Chaudhary Charan Singh Intl", "Lucknow"},
+            {"DXB", "Dubai International", "Dubai"},
+            {"SIN", "Singapore Changi", "Singapore"},
+            {"LHR", "London Heathrow", "London"},
+    };
+
+    private static final String[][] CARRIERS = {
+            {"AI", "Air India"},
+            {"6E", "IndiGo"},
+            {"UK", "Vistara"},
+            {"SG", "SpiceJet"},
+            {"QP", "Akasa Air"},
+            {"IX", "Air India Express"},
+    };
+
+    private static final Object[][] FLEET = {
+            {"A320neo", 180},
+            {"A321neo", 222},
+            {"B737-8", 189},
+            {"ATR72-600", 72},
+            {"B787-9", 294},
+            {"A350-900", 312},
+    };
+
+    private static final char[] SEAT_LETTERS = {'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private DatasetGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long started = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(LoadTestSettings.longValue("seed", 42));
+        try (Connection connection = LoadTestSettings.openConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET synchronous_commit = off");
+            }
+            generator.generate(connection);
+        }
+        System.out.printf("Dataset generated in %d s%n", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void generate(Connection connection) throws SQLException {
+        if (LoadTestSettings.bool("reset", false)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "TRUNCATE TABLE booking_checkout_session, stripe_webhook_event, passengers, orders, bookings, " +
+                                "booking_pnr, seats, flight_number, flights, aircrafts, airlines, airports, user_roles, " +
+                                "users CASCADE"
+                );
+            }
+            connection.commit();
+        }
+
+        long roleId = ensureUserRole(connection);
+        List<Long> airports = airports(connection, Math.min(LoadTestSettings.integer("airports", 400), 26 * 26 * 26));
+        List<Carrier> carriers = airlines(connection, Math.min(LoadTestSettings.integer("airlines", 60), 26 * 26));
+        List<Aircraft> fleet = aircraft(connection, carriers, LoadTestSettings.integer("aircraft", 3000));
+        flightsAndSeats(
+                connection,
+                airports,
+                fleet,
+                LoadTestSettings.integer("flights", 100_000),
+                LoadTestSettings.integer("days", 90)
+        );
+        users(connection, roleId, LoadTestSettings.integer("users", 1_000_000));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE airports, airlines, aircrafts, flights, seats, users, user_roles");
+        }
+    }
+
+    private long ensureUserRole(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "INSERT INTO roles (name, description, is_active, is_system_role, created_at, updated_at) " +
+                            "VALUES ('ROLE_USER', 'Default role', true, true, now(), now()) " +
+                            "ON CONFLICT (name) DO NOTHING"
+            );
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM roles WHERE name = 'ROLE_USER'")) {
+                resultSet.next();
+                long id = resultSet.getLong(1);
+                connection.commit();
+                return id;
+            }
+        }
+    }
+
+    private List<Long> airports(Connection connection, int count) throws SQLException {
+        long firstId = nextId(connection, "airports");
+        Set<String> usedCodes = new HashSet<>();
+        List<Long> ids = new ArrayList<>(count);
+
+        try (CopyWriter copy = new CopyWriter(
+                connection, "airports", "id", "code", "name", "city", "country", "is_active", "created_at", "updated_at")) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                String code;
+                String name;
+                String city;
+                if (i < HUB_AIRPORTS.length) {
+                    code = HUB_AIRPORTS[i][0];
+                    name = HUB_AIRPORTS[i][1];
+                    city = HUB_AIRPORTS[i][2];
+                } else {
+                    do {
+                        code = letters(random.nextInt(26 * 26 * 26), 3);
+                    } while (usedCodes.contains(code));
+                    city = "City " + code;
+                    name = "Regional Airport " + code;
+                }
+                usedCodes.add(code);
+                copy.row(id, code, name, city, "India", true, now, now);
+                ids.add(id);
+            }
+        }
+        finishTable(connection, "airports", ids.size());
+        return ids;
+    }
+
+    private List<Carrier> airlines(Connection connection, int count) throws SQLException {
+        long firstId = nextId(connection, "airlines");
+        Set<String> usedCodes = new HashSet<>();
+        List<Carrier> carriers = new ArrayList<>(count);
+
+        try (CopyWriter copy = new CopyWriter(
+                connection, "airlines", "id", "code", "name", "country", "is_active", "created_at", "updated_at")) {
+            int next = 0;
+            for (int i = 0; i < count; i++) {
+                String code;
+                String name;
+                if (i < CARRIERS.length) {
+                    code = CARRIERS[i][0];
+                    name = CARRIERS[i][1];
+                } else {
+                    do {
+                        code = letters(next++, 2);
+                    } while (usedCodes.contains(code));
+                    name = "Carrier " + code;
+                }
+                usedCodes.add(code);
+                Carrier carrier = new Carrier(firstId + i, code);
+                copy.row(carrier.id(), code, name, "India", true, now, now);
+                carriers.add(carrier);
+            }
+        }
+        finishTable(connection, "airlines", carriers.size());
+        return carriers;
+    }
+
+    private List<Aircraft> aircraft(Connection connection, List<Carrier> carriers, int count) throws SQLException {
+        long firstId = nextId(connection, "aircrafts");
+        List<Aircraft> fleet = new ArrayList<>(count);
+
+        try (CopyWriter copy = new CopyWriter(
+                connection,
+                "aircrafts",
+                "id", "model", "registration_number", "capacity", "is_active", "aircraft_airline_id", "created_at", "updated_at"
+        )) {
+            for (int i = 0; i < count; i++) {
+                Object[] type = FLEET[random.nextInt(FLEET.length)];
+                Carrier carrier = carriers.get(i % carriers.size());
+                Aircraft aircraft = new Aircraft(firstId + i, carrier, (Integer) type[1]);
+                String registration = "VT-" + Long.toString(firstId + i, 36).toUpperCase();
+                copy.row(aircraft.id(), type[0], registration, aircraft.capacity(), true, carrier.id(), now, now);
+                fleet.add(aircraft);
+            }
+        }
+        finishTable(connection, "aircrafts", fleet.size());
+        return fleet;
+    }
+
+    private void flightsAndSeats(
+            Connection connection,
+            List<Long> airports,
+            List<Aircraft> fleet,
+            int count,
+            int days
+    ) throws SQLException {
+        long firstFlightId = nextId(connection, "flights");
+        long seatId = nextId(connection, "seats");
+        // A few hubs carry most of the traffic, as on real networks.
+        ZipfSampler airportSampler = new ZipfSampler(airports.size(), 1.1, random);
+        LocalDateTime firstDay = LocalDate.now().plusDays(1).atStartOfDay();
+
+        // One COPY at a time per connection: flights first, then their seats.
+        List<ScheduledFlight> scheduled = new ArrayList<>(count);
+        try (CopyWriter flights = new CopyWriter(
+                connection,
+                "flights",
+                "id", "airline_id", "aircraft_id", "source_airport_id", "destination_airport_id", "flight_no",
+                "departure_time", "arrival_time", "base_price", "status", "created_at", "updated_at"
+        )) {
+            for (int i = 0; i < count; i++) {
+                long flightId = firstFlightId + i;
+                Aircraft aircraft = fleet.get(random.nextInt(fleet.size()));
+                int src = airportSampler.next();
+                int dest;
+                do {
+                    dest = airportSampler.next();
+                } while (dest == src);
+
+                LocalDateTime departure = firstDay.plusDays(random.nextInt(days)).plusMinutes(5L * random.nextInt(288));
+                int durationMinutes = 55 + random.nextInt(48) * 5;
+                BigDecimal basePrice = BigDecimal.valueOf(1800L + durationMinutes * 25L + random.nextInt(2000));
+
+                flights.row(
+                        flightId,
+                        aircraft.carrier().id(),
+                        aircraft.id(),
+                        airports.get(src),
+                        airports.get(dest),
+                        aircraft.carrier().code() + i,
+                        departure,
+                        departure.plusMinutes(durationMinutes),
+                        basePrice,
+                        "SCHEDULED",
+                        now,
+                        now
+                );
+                scheduled.add(new ScheduledFlight(flightId, departure, aircraft.capacity()));
+            }
+        }
+
+        long seatCount;
+        try (CopyWriter seats = new CopyWriter(
+                connection,
+                "seats",
+                "id", "flight_id", "seat_no", "seat_class", "is_available", "price_modifier", "departure_time",
+                "created_at", "updated_at"
+        )) {
+            for (ScheduledFlight flight : scheduled) {
+                int businessRows = flight.capacity() >= 180 ? 3 : 0;
+                for (int seat = 0; seat < flight.capacity(); seat++) {
+                    int row = seat / SEAT_LETTERS.length + 1;
+                    boolean business = row <= businessRows;
+                    seats.row(
+                            seatId++,
+                            flight.id(),
+                            row + String.valueOf(SEAT_LETTERS[seat % SEAT_LETTERS.length]),
+                            business ? "BUSINESS" : "ECONOMY",
+                            true,
+                            business ? "2.50" : "1.00",
+                            flight.departureTime(),
+                            now,
+                            now
+                    );
+                }
+            }
+            seatCount = seats.rows();
+        }
+        finishTable(connection, "flights", count);
+        finishTable(connection, "seats", seatCount);
+    }
+
+    private void users(Connection connection, long roleId, int count) throws SQLException {
+        long firstId = nextId(connection, "users");
+        // One hash for everyone: hashing a million passwords would take hours and measure nothing.
+        String passwordHash = new BCryptPasswordEncoder().encode(LoadTestSettings.string("userPassword", "LoadTest@123"));
+
+        try (CopyWriter users = new CopyWriter(
+                connection,
+                "users",
+                "id", "username", "email", "password", "first_name", "last_name", "phone", "date_of_birth", "is_enabled",
+                "is_account_non_expired", "is_account_non_locked", "is_credentials_non_expired", "email_verified",
+                "created_at", "updated_at"
+        )) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                users.row(
+                        id,
+                        "loaduser" + id,
+                        "loaduser" + id + USER_EMAIL_DOMAIN,
+                        passwordHash,
+                        "Load",
+                        "User" + id,
+                        String.valueOf(9_000_000_000L + id % 1_000_000_000L),
+                        LocalDate.of(1960, 1, 1).plusDays(random.nextInt(365 * 45)),
+                        true,
+                        true,
+                        true,
+                        true,
+                        true,
+                        now,
+                        now
+                );
+            }
+        }
+        try (CopyWriter userRoles = new CopyWriter(connection, "user_roles", "user_id", "role_id")) {
+            for (int i = 0; i < count; i++) {
+                userRoles.row(firstId + i, roleId);
+            }
+        }
+        finishTable(connection, "users", count);
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // Ids were assigned here, so move the pooled sequence past them the same way V4 did.
+    private void finishTable(Connection connection, String table, long rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "SELECT setval('" + table + "_id_seq', (SELECT coalesce(max(id), 0) FROM " + table + ") + 50, false)"
+            );
+        }
+        connection.commit();
+        System.out.printf("%s: %d rows%n", table, rows);
+    }
+
+    private static String letters(int value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(chars);
+    }
+
+    private record Carrier(long id, String code) {
+    }
+
+    private record Aircraft(long id, Carrier carrier, int capacity) {
+    }
+
+    private record ScheduledFlight(long id, LocalDateTime departureTime, int capacity) {
+    }
+
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+        private final Random random;
+
+        ZipfSampler(int size, double exponent, Random random) {
+            this.cumulative = new double[size];
+            this.random = random;
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
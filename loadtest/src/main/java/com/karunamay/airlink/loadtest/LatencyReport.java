@@ -0,0 +1,112 @@
+package com.karunamay.airlink.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms (microsecond resolution, up to a minute) plus error counts.
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    // Drops everything recorded so far, e.g. at the end of the warmup.
+    void reset() {
+        for (Endpoint stats : endpoints.values()) {
+            stats.recorder.getIntervalHistogram();
+            stats.errors.reset();
+        }
+    }
+
+    List<Row> snapshot(double elapsedSeconds) {
+        return endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+                    return new Row(
+                            entry.getKey(),
+                            histogram.getTotalCount(),
+                            entry.getValue().errors.sum(),
+                            histogram.getTotalCount() / elapsedSeconds,
+                            histogram.getValueAtPercentile(50) / 1000.0,
+                            histogram.getValueAtPercentile(90) / 1000.0,
+                            histogram.getValueAtPercentile(99) / 1000.0,
+                            histogram.getValueAtPercentile(99.9) / 1000.0,
+                            histogram.getMaxValue() / 1000.0
+                    );
+                })
+                .toList();
+    }
+
+    static void print(List<Row> rows) {
+        System.out.printf(
+                "%-16s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"
+        );
+        for (Row row : rows) {
+            System.out.printf(
+                    "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    row.endpoint(),
+                    row.requests(),
+                    row.errors(),
+                    row.throughput(),
+                    row.p50Millis(),
+                    row.p90Millis(),
+                    row.p99Millis(),
+                    row.p999Millis(),
+                    row.maxMillis()
+            );
+        }
+    }
+
+    static void write(File file, Map<String, Object> settings, List<Row> rows) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("finishedAt", Instant.now().toString());
+        result.put("settings", settings);
+        result.put("endpoints", rows);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+    }
+
+    record Row(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis
+    ) {
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,348 @@
+package com.karunamay.airlink.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Replays a weighted mix of searches, seat-map reads, bookings and Stripe webhook deliveries against a running
+// instance, started with the loadtest profile, at a fixed arrival rate:
+//
+//   java -Dairlink.load.rate=200 -Dairlink.load.durationInSec=300 -Dairlink.load.webhookSecret=whsec_... \
+//       -cp loadtest/target/loadtest.jar com.karunamay.airlink.loadtest.LoadDriver
+//
+// Requests are started on a schedule rather than when the previous one returns, and latency is measured from the
+// scheduled start, so a stalled server shows up as queueing in p99 instead of silently lowering the offered load.
+// Bookings are paid with signed checkout.session.completed events shaped like SimulatedPaymentGateway's.
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "search:60,seatMap:25,booking:10,webhook:5";
+    private static final Set<String> OPERATIONS = Set.of("search", "seatMap", "booking", "webhook");
+
+    private final String baseUrl = LoadTestSettings.string("baseUrl", "http://localhost:8080/api");
+    private final String webhookSecret = LoadTestSettings.string("webhookSecret", "");
+    private final int searchDays = LoadTestSettings.integer("searchDays", 30);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final HttpClient httpClient;
+    private final WorkPool pool;
+
+    // The client keeps its own executor: the driver's threads block in send() and must not starve it.
+    private LoadDriver(WorkPool pool) {
+        this.pool = pool;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = LoadTestSettings.integer("rate", 100);
+        int warmupInSec = LoadTestSettings.integer("warmupInSec", 30);
+        int durationInSec = LoadTestSettings.integer("durationInSec", 120);
+        int concurrency = LoadTestSettings.integer("concurrency", 64);
+        Map<String, Integer> mix = LoadTestSettings.weights("mix", DEFAULT_MIX);
+        if (!OPERATIONS.containsAll(mix.keySet())) {
+            throw new IllegalArgumentException("airlink.load.mix may only use " + OPERATIONS + ", got " + mix.keySet());
+        }
+        if (mix.getOrDefault("webhook", 0) > 0 && LoadTestSettings.string("webhookSecret", "").isEmpty()) {
+            throw new IllegalArgumentException("Webhook deliveries need airlink.load.webhookSecret (app.stripe.webhookSecret)");
+        }
+
+        WorkPool pool;
+        try (Connection connection = LoadTestSettings.openConnection()) {
+            pool = WorkPool.load(
+                    connection,
+                    LoadTestSettings.integer("routeSample", 500),
+                    LoadTestSettings.integer("flightSample", 2000),
+                    LoadTestSettings.integer("userSample", 200)
+            );
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-driver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LoadDriver driver = new LoadDriver(pool);
+        driver.logIn(executor);
+
+        System.out.printf("Warming up for %d s at %d req/s%n", warmupInSec, rate);
+        driver.run(executor, mix, rate, warmupInSec);
+        driver.report.reset();
+
+        System.out.printf("Measuring for %d s at %d req/s%n", durationInSec, rate);
+        long started = System.nanoTime();
+        driver.run(executor, mix, rate, durationInSec);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        List<LatencyReport.Row> rows = driver.report.snapshot(elapsedSeconds);
+        LatencyReport.print(rows);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", driver.baseUrl);
+        settings.put("rate", rate);
+        settings.put("durationInSec", durationInSec);
+        settings.put("concurrency", concurrency);
+        settings.put("mix", mix);
+        File resultFile = new File(LoadTestSettings.string("resultFile", "target/loadtest-result.json"));
+        LatencyReport.write(resultFile, settings, rows);
+        System.out.println("Results written to " + resultFile);
+    }
+
+    private void logIn(ExecutorService executor) throws InterruptedException {
+        String password = LoadTestSettings.string("userPassword", "LoadTest@123");
+        List<Callable<Void>> logins = new ArrayList<>();
+        for (WorkPool.LoadUser user : pool.users()) {
+            logins.add(() -> {
+                Map<String, String> body = Map.of("email", user.email(), "password", password);
+                HttpResponse<String> response = send("login", post("/user/login", objectMapper.writeValueAsString(body), null));
+                if (response != null && response.statusCode() == 200) {
+                    user.accessToken(objectMapper.readTree(response.body()).path("data").path("accessToken").asText());
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(logins);
+        if (pool.users().stream().noneMatch(user -> user.accessToken() != null)) {
+            throw new IllegalStateException("No load-test user could log in; check airlink.load.userPassword");
+        }
+        long loggedOut = pool.users().stream().filter(user -> user.accessToken() == null).count();
+        if (loggedOut > 0) {
+            System.out.printf(
+                    "%d of %d load-test users could not log in; is the server running with the loadtest profile?%n",
+                    loggedOut,
+                    pool.users().size()
+            );
+        }
+    }
+
+    private void run(ExecutorService executor, Map<String, Integer> mix, int rate, int seconds) {
+        List<String> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> operations.addAll(Collections.nCopies(weight, operation)));
+
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long total = (long) rate * seconds;
+        for (long i = 0; i < total; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String operation = operations.get(ThreadLocalRandom.current().nextInt(operations.size()));
+            executor.execute(() -> execute(operation, scheduledAt));
+        }
+    }
+
+    private void execute(String operation, long scheduledAt) {
+        switch (operation) {
+            case "search" -> search(scheduledAt);
+            case "seatMap" -> seatMap(scheduledAt);
+            case "booking" -> booking(scheduledAt);
+            case "webhook" -> webhook(scheduledAt);
+            default -> throw new IllegalArgumentException("Unknown operation " + operation + " in airlink.load.mix");
+        }
+    }
+
+    private void search(long scheduledAt) {
+        WorkPool.Route route = pool.randomRoute();
+        LocalDate day = LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(searchDays));
+        String query = "/flights/search?src=" + route.srcAirportId()
+                + "&dest=" + route.destAirportId()
+                + "&departureTime=" + encode(day.atStartOfDay().toString())
+                + "&seat=" + (1 + ThreadLocalRandom.current().nextInt(4));
+        timed("search", scheduledAt, get(query, pool.randomLoggedInUser().accessToken()), 200);
+    }
+
+    private void seatMap(long scheduledAt) {
+        WorkPool.SampledFlight flight = pool.randomFlight();
+        String query = "/seats/by-flightNo?flightNo=" + encode(flight.flightNo()) + "&size=100";
+        timed("seatMap", scheduledAt, get(query, pool.randomLoggedInUser().accessToken()), 200);
+    }
+
+    private void booking(long scheduledAt) {
+        WorkPool.SampledFlight flight = pool.randomFlight();
+        int passengers = 1 + ThreadLocalRandom.current().nextInt(3);
+        List<Long> seats = pool.takeSeats(flight.id(), passengers);
+        if (seats.isEmpty()) {
+            search(scheduledAt);
+            return;
+        }
+
+        WorkPool.LoadUser user = pool.randomLoggedInUser();
+        BigDecimal totalAmount = flight.basePrice().multiply(BigDecimal.valueOf(seats.size()));
+        List<Map<String, Object>> passengerList = new ArrayList<>();
+        for (Long seatId : seats) {
+            Map<String, Object> passenger = new LinkedHashMap<>();
+            passenger.put("seatId", seatId);
+            passenger.put("firstName", "Load");
+            passenger.put("middleName", "");
+            passenger.put("lastName", "Passenger" + seatId);
+            passenger.put("suffix", "MR");
+            passenger.put("gender", "OTHER");
+            passenger.put("dob", "1990-01-01");
+            passenger.put("govtIdNo", "LT" + seatId);
+            passenger.put("email", "passenger" + seatId + DatasetGenerator.USER_EMAIL_DOMAIN);
+            passenger.put("phone", "9000000000");
+            passenger.put("checkedBagCount", 1);
+            passengerList.add(passenger);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", user.id());
+        body.put("flightId", flight.id());
+        body.put("totalAmount", totalAmount);
+        body.put("passengerCount", seats.size());
+        body.put("passengerList", passengerList);
+
+        HttpResponse<String> response = timed("booking", scheduledAt, post("/bookings", json(body), user.accessToken()), 201);
+        if (response != null && response.statusCode() == 201) {
+            try {
+                long bookingId = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+                pool.bookingCreated(new WorkPool.CreatedBooking(bookingId, user.id(), totalAmount));
+            } catch (Exception e) {
+                System.err.println("Unreadable booking response: " + e.getMessage());
+            }
+        }
+    }
+
+    private void webhook(long scheduledAt) {
+        WorkPool.CreatedBooking booking = pool.nextUnpaidBooking();
+        if (booking == null) {
+            search(scheduledAt);
+            return;
+        }
+        String payload = checkoutCompletedEvent(booking);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/webhook/handle-stripe-checkout"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Stripe-Signature", sign(payload))
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        timed("webhook", scheduledAt, request, 200);
+    }
+
+    private String checkoutCompletedEvent(WorkPool.CreatedBooking booking) {
+        String suffix = UUID.randomUUID().toString().replace("-", "");
+
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("line1", "1 Load Test Road");
+        address.put("line2", null);
+        address.put("city", "Bengaluru");
+        address.put("state", "Karnataka");
+        address.put("postal_code", "560001");
+        address.put("country", "IN");
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("id", "cs_load_" + suffix);
+        session.put("object", "checkout.session");
+        session.put("amount_total", booking.totalAmount().movePointRight(2).longValue());
+        session.put("currency", "inr");
+        session.put("customer", "cus_load_" + booking.userId());
+        session.put("customer_details", Map.of(
+                "name", "Load Test Customer",
+                "email", "customer" + DatasetGenerator.USER_EMAIL_DOMAIN,
+                "address", address
+        ));
+        session.put("metadata", Map.of(
+                "bookingId", String.valueOf(booking.bookingId()),
+                "userId", String.valueOf(booking.userId())
+        ));
+        session.put("mode", "payment");
+        session.put("payment_intent", "pi_load_" + suffix);
+        session.put("payment_status", "paid");
+        session.put("status", "complete");
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", "evt_load_" + suffix);
+        event.put("object", "event");
+        event.put("api_version", Stripe.API_VERSION);
+        event.put("created", Instant.now().getEpochSecond());
+        event.put("livemode", false);
+        event.put("pending_webhooks", 1);
+        event.put("type", "checkout.session.completed");
+        event.put("data", Map.of("object", session));
+        return json(event);
+    }
+
+    private String sign(String payload) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not sign webhook payload", e);
+        }
+    }
+
+    private HttpResponse<String> timed(String endpoint, long scheduledAt, HttpRequest request, int expectedStatus) {
+        HttpResponse<String> response = send(endpoint, request);
+        report.record(endpoint, System.nanoTime() - scheduledAt, response != null && response.statusCode() == expectedStatus);
+        return response;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            System.err.println(endpoint + " request failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String accessToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, String body, String accessToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder.build();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
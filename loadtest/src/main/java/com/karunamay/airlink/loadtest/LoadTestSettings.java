@@ -0,0 +1,57 @@
+package com.karunamay.airlink.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// Every knob is an airlink.load.* system property, so a run is reproducible from its command line alone.
+public final class LoadTestSettings {
+
+    private static final String PREFIX = "airlink.load.";
+
+    private LoadTestSettings() {
+    }
+
+    public static String string(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    public static int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, String.valueOf(defaultValue)));
+    }
+
+    public static long longValue(String name, long defaultValue) {
+        return Long.parseLong(string(name, String.valueOf(defaultValue)));
+    }
+
+    public static double decimal(String name, double defaultValue) {
+        return Double.parseDouble(string(name, String.valueOf(defaultValue)));
+    }
+
+    public static boolean bool(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(string(name, String.valueOf(defaultValue)));
+    }
+
+    // airlink.load.mix=search:60,seatMap:25,booking:10,webhook:5
+    public static Map<String, Integer> weights(String name, String defaultValue) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : string(name, defaultValue).split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name:weight in " + PREFIX + name + ", got " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    public static Connection openConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", string("db.username", "postgres"));
+        properties.setProperty("password", string("db.password", "postgres"));
+        return DriverManager.getConnection(string("db.url", "jdbc:postgresql://localhost:5432/airlink"), properties);
+    }
+}
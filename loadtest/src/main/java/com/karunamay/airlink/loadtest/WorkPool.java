@@ -0,0 +1,166 @@
+package com.karunamay.airlink.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+// What the driver may ask for, read once from the database before the run: popular routes to search, a sample of
+// upcoming flights with their free seats to book, and the generated users to log in as.
+final class WorkPool {
+
+    private final List<Route> routes = new ArrayList<>();
+    private final List<SampledFlight> flights = new ArrayList<>();
+    private final Map<Long, Queue<Long>> freeSeats = new ConcurrentHashMap<>();
+    private final List<LoadUser> users = new ArrayList<>();
+    private final Queue<CreatedBooking> unpaidBookings = new ConcurrentLinkedQueue<>();
+
+    static WorkPool load(Connection connection, int routeSample, int flightSample, int userSample) throws SQLException {
+        WorkPool pool = new WorkPool();
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                """
+                SELECT source_airport_id, destination_airport_id FROM flights
+                WHERE departure_time > now()
+                GROUP BY source_airport_id, destination_airport_id
+                ORDER BY count(*) DESC
+                LIMIT ?
+                """
+        )) {
+            statement.setInt(1, routeSample);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pool.routes.add(new Route(resultSet.getLong(1), resultSet.getLong(2)));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, flight_no, base_price FROM flights WHERE departure_time > now() ORDER BY random() LIMIT ?"
+        )) {
+            statement.setInt(1, flightSample);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pool.flights.add(new SampledFlight(resultSet.getLong(1), resultSet.getString(2), resultSet.getBigDecimal(3)));
+                }
+            }
+        }
+
+        Long[] flightIds = pool.flights.stream().map(SampledFlight::id).toArray(Long[]::new);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT flight_id, id FROM seats WHERE flight_id = ANY (?) AND is_available ORDER BY flight_id, id"
+        )) {
+            Array array = connection.createArrayOf("bigint", flightIds);
+            statement.setArray(1, array);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pool.freeSeats
+                            .computeIfAbsent(resultSet.getLong(1), id -> new ConcurrentLinkedQueue<>())
+                            .add(resultSet.getLong(2));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, email FROM users WHERE email LIKE ? ORDER BY id LIMIT ?"
+        )) {
+            statement.setString(1, "%" + DatasetGenerator.USER_EMAIL_DOMAIN);
+            statement.setInt(2, userSample);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pool.users.add(new LoadUser(resultSet.getLong(1), resultSet.getString(2)));
+                }
+            }
+        }
+
+        if (pool.routes.isEmpty() || pool.flights.isEmpty() || pool.users.isEmpty()) {
+            throw new IllegalStateException("No upcoming flights or load-test users found; run DatasetGenerator first");
+        }
+        return pool;
+    }
+
+    List<LoadUser> users() {
+        return users;
+    }
+
+    Route randomRoute() {
+        return routes.get(ThreadLocalRandom.current().nextInt(routes.size()));
+    }
+
+    SampledFlight randomFlight() {
+        return flights.get(ThreadLocalRandom.current().nextInt(flights.size()));
+    }
+
+    LoadUser randomLoggedInUser() {
+        LoadUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        return user.accessToken() != null ? user : users.get(0);
+    }
+
+    // Seats are handed out once; a conflict on the server then means two requests raced, not that we reused one.
+    List<Long> takeSeats(long flightId, int count) {
+        Queue<Long> queue = freeSeats.get(flightId);
+        List<Long> seats = new ArrayList<>(count);
+        if (queue == null) {
+            return seats;
+        }
+        for (int i = 0; i < count; i++) {
+            Long seat = queue.poll();
+            if (seat == null) {
+                break;
+            }
+            seats.add(seat);
+        }
+        return seats;
+    }
+
+    void bookingCreated(CreatedBooking booking) {
+        unpaidBookings.add(booking);
+    }
+
+    CreatedBooking nextUnpaidBooking() {
+        return unpaidBookings.poll();
+    }
+
+    record Route(long srcAirportId, long destAirportId) {
+    }
+
+    record SampledFlight(long id, String flightNo, BigDecimal basePrice) {
+    }
+
+    record CreatedBooking(long bookingId, long userId, BigDecimal totalAmount) {
+    }
+
+    static final class LoadUser {
+
+        private final long id;
+        private final String email;
+        private volatile String accessToken;
+
+        LoadUser(long id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+
+        long id() {
+            return id;
+        }
+
+        String email() {
+            return email;
+        }
+
+        String accessToken() {
+            return accessToken;
+        }
+
+        void accessToken(String accessToken) {
+            this.accessToken = accessToken;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.karunamay.airlink.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.datasource.routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    private long maxLagInMs = 1000;
+
+    private long lagCheckIntervalInMs = 1000;
+
+    private long readYourWritesWindowInSec = 5;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,35 @@
+package com.karunamay.airlink.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.payment.simulator")
+@Getter
+@Setter
+public class PaymentSimulatorProperties {
+
+    private String webhookUrl = "http://localhost:8080/api/webhook/handle-stripe-checkout";
+
+    private String checkoutBaseUrl = "http://localhost:8080/simulated-checkout";
+
+    private long sessionTtlInSec = 1800;
+
+    private long createLatencyInMs = 0;
+
+    private double createFailureRate = 0.0;
+
+    private long completionDelayInMs = 1000;
+
+    private double webhookRatePerSec = 100;
+
+    private double paymentFailureRate = 0.0;
+
+    private double redeliveryRate = 0.0;
+
+    private int deliveryRetries = 3;
+
+    private int poolSize = 4;
+}
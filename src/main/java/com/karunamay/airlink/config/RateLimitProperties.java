@@ -0,0 +1,39 @@
+package com.karunamay.airlink.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long idleEvictionInSec = 600;
+
+    private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private String path;
+
+        private long ipCapacity;
+
+        private long ipRefillPerMinute;
+
+        private long accountCapacity;
+
+        private long accountRefillPerMinute;
+
+        private String accountField;
+    }
+}
@@ -0,0 +1,58 @@
+package com.karunamay.airlink.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Users who just wrote are pinned to the primary for a short window so their reads never miss the write
+// on a lagging replica. The pin is per node, which covers the common case of a client reusing its connection.
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesTracker {
+
+    private final DataSourceRoutingProperties properties;
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+
+    public void markWrite(String username) {
+        if (username != null) {
+            pinnedUntil.put(username, Instant.now().plusSeconds(properties.getReadYourWritesWindowInSec()));
+        }
+    }
+
+    public void markCurrentUserWrite() {
+        markWrite(currentUsername());
+    }
+
+    public boolean isCurrentUserPinned() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Instant until = pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            pinnedUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        pinnedUntil.values().removeIf(until -> until.isBefore(now));
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
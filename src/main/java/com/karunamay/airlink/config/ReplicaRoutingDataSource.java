@@ -0,0 +1,135 @@
+package com.karunamay.airlink.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagInMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            HikariDataSource primary,
+            List<HikariDataSource> replicaPools,
+            ReadYourWritesTracker readYourWritesTracker,
+            long maxLagInMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagInMs = maxLagInMs;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            targets.put(replica.name, pool);
+            Gauge.builder("airlink.datasource.replica.lag", replica, r -> r.lagInMs)
+                    .tag("replica", replica.name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWritesTracker.isCurrentUserPinned()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.lagInMs <= maxLagInMs) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lagCheckIntervalInMs}")
+    public void checkLag() {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            result.next();
+            primaryLsn = result.getString(1);
+        } catch (SQLException e) {
+            log.warn("Could not read the primary WAL position: {}", e.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            try {
+                replica.lagInMs = measureLag(replica, primaryLsn);
+            } catch (SQLException e) {
+                replica.lagInMs = Double.POSITIVE_INFINITY;
+                log.warn("Replica {} is unreachable, routing its reads to the primary: {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private double measureLag(Replica replica, String primaryLsn) throws SQLException {
+        try (Connection connection = replica.pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     """
+                     SELECT pg_is_in_recovery(),
+                            pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()),
+                            EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+                     """
+             )) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                // A stand-in that is not a standby, or a standby that has replayed everything the primary had
+                // when we asked; the replay timestamp only means something while the replica is behind.
+                if (!result.getBoolean(1) || result.getDouble(2) <= 0) {
+                    return 0;
+                }
+                return result.getDouble(3);
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile double lagInMs = Double.POSITIVE_INFINITY;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.karunamay.airlink.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+
+    private boolean enabled = false;
+
+    private int defaultMaxStatements = 25;
+
+    private int repeatedStatementThreshold = 5;
+
+    private boolean failOnViolation = false;
+
+    private Map<String, Budget> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private String method;
+
+        private String path;
+
+        private int maxStatements;
+    }
+}
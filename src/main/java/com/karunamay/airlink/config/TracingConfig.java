@@ -0,0 +1,82 @@
+package com.karunamay.airlink.config;
+
+import com.karunamay.airlink.service.tracing.MethodObservationInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// One span per controller, service and repository call, nested under the http.server.requests span.
+@Configuration
+@ConditionalOnProperty(prefix = "app.tracing", name = "methodSpans", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    private static final String BASE_PACKAGE = "com.karunamay.airlink.";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor controllerObservationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return layerAdvisor(RestController.class, new MethodObservationInterceptor(observationRegistry, "controller", null));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceObservationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return layerAdvisor(Service.class, new MethodObservationInterceptor(observationRegistry, "service", null));
+    }
+
+    // Repositories are JDK proxies, so the span takes its name from the repository interface.
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new MethodObservationInterceptor(
+                                    observationRegistry,
+                                    "repository",
+                                    information.getRepositoryInterface().getSimpleName()
+                            ))
+                    ));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Advisor layerAdvisor(
+            Class<? extends Annotation> stereotype,
+            MethodObservationInterceptor interceptor
+    ) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(type -> type.getName().startsWith(BASE_PACKAGE)
+                && AnnotatedElementUtils.hasAnnotation(type, stereotype));
+
+        // Outermost advice, so a service span also covers its transaction's flush and commit.
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
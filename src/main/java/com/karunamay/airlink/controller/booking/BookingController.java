@@ -4,16 +4,21 @@ import com.karunamay.airlink.dto.api.RestApiResponse;
 import com.karunamay.airlink.dto.booking.BookingRequestDTO;
 import com.karunamay.airlink.dto.booking.BookingResponseDTO;
 import com.karunamay.airlink.dto.error.ErrorResponseDTO;
+import com.karunamay.airlink.dto.export.ExportFilter;
 import com.karunamay.airlink.dto.pagination.PageResponseDTO;
 import com.karunamay.airlink.model.booking.BookingStatus;
 import com.karunamay.airlink.model.user.User;
 import com.karunamay.airlink.service.booking.BookingService;
+import com.karunamay.airlink.service.export.ExportFormat;
+import com.karunamay.airlink.service.export.ExportService;
+import com.karunamay.airlink.service.export.ExportTaskFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @Slf4j
@@ -34,6 +40,8 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ExportService exportService;
+    private final ExportTaskFactory exportTaskFactory;
 
 
     @Operation(
@@ -247,6 +255,44 @@ public class BookingController {
         return ResponseEntity.ok(RestApiResponse.success(bookingService.getBookingsByStatus(status, pageable)));
     }
 
+    @Operation(
+            summary = "Export Bookings",
+            description = "Streams every matching booking as NDJSON or CSV in a single response, without paging."
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDTO.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Too many exports running",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDTO.class)
+            )
+    )
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportBookings(
+            @Parameter(description = "Flight id, and an inclusive creation date range (yyyy-MM-dd)")
+            @Valid @ModelAttribute ExportFilter filter,
+            @Parameter(description = "Booking status to keep, e.g. CONFIRMED")
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) {
+        log.info("REST: Export bookings as {} with {} and status {}", format, filter, status);
+        return exportTaskFactory.stream(
+                response,
+                format,
+                "bookings",
+                out -> exportService.exportBookings(filter, status, format, out)
+        );
+    }
+
     private static class PaginationBookingResponseDTO
             extends RestApiResponse<PageResponseDTO<BookingResponseDTO>> {
     }
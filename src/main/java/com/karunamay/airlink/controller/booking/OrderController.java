@@ -4,16 +4,21 @@ import com.karunamay.airlink.dto.api.RestApiResponse;
 import com.karunamay.airlink.dto.booking.OrderRequestDTO;
 import com.karunamay.airlink.dto.booking.OrderResponseDTO;
 import com.karunamay.airlink.dto.error.ErrorResponseDTO;
+import com.karunamay.airlink.dto.export.ExportFilter;
 import com.karunamay.airlink.dto.pagination.PageResponseDTO;
 import com.karunamay.airlink.model.payment.PaymentStatus;
 import com.karunamay.airlink.model.user.User;
 import com.karunamay.airlink.service.booking.OrderService;
+import com.karunamay.airlink.service.export.ExportFormat;
+import com.karunamay.airlink.service.export.ExportService;
+import com.karunamay.airlink.service.export.ExportTaskFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @Slf4j
@@ -34,6 +40,8 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ExportService exportService;
+    private final ExportTaskFactory exportTaskFactory;
 
     @Operation(
             summary = "Create a new Order",
@@ -222,6 +230,44 @@ public class OrderController {
         );
     }
 
+    @Operation(
+            summary = "Export Orders",
+            description = "Streams every matching order as NDJSON or CSV in a single response, without paging."
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDTO.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Too many exports running",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDTO.class)
+            )
+    )
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportOrders(
+            @Parameter(description = "Flight id, and an inclusive creation date range (yyyy-MM-dd)")
+            @Valid @ModelAttribute ExportFilter filter,
+            @Parameter(description = "Payment status to keep, e.g. PAID")
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) {
+        log.info("REST: Export orders as {} with {} and status {}", format, filter, status);
+        return exportTaskFactory.stream(
+                response,
+                format,
+                "orders",
+                out -> exportService.exportOrders(filter, status, format, out)
+        );
+    }
+
     private static class PaginationOrderResponseDTO
             extends RestApiResponse<PageResponseDTO<OrderResponseDTO>> {
     }
@@ -4,14 +4,20 @@ import com.karunamay.airlink.dto.api.RestApiResponse;
 import com.karunamay.airlink.dto.booking.PassengerRequestDTO;
 import com.karunamay.airlink.dto.booking.PassengerResponseDTO;
 import com.karunamay.airlink.dto.error.ErrorResponseDTO;
+import com.karunamay.airlink.dto.export.ExportFilter;
 import com.karunamay.airlink.dto.pagination.PageResponseDTO;
+import com.karunamay.airlink.model.booking.BookingStatus;
 import com.karunamay.airlink.service.booking.PassengerService;
+import com.karunamay.airlink.service.export.ExportFormat;
+import com.karunamay.airlink.service.export.ExportService;
+import com.karunamay.airlink.service.export.ExportTaskFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +28,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @Slf4j
@@ -34,6 +41,8 @@ import org.springframework.web.bind.annotation.*;
 public class PassengerController {
 
     private final PassengerService passengerService;
+    private final ExportService exportService;
+    private final ExportTaskFactory exportTaskFactory;
 
     @Operation(
             summary = "Create a new passenger",
@@ -173,6 +182,40 @@ public class PassengerController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    @Operation(
+            summary = "Export passengers",
+            description = "Streams the passengers of every matching flight as NDJSON or CSV in a single response, without paging."
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Too many exports running",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportPassengers(
+            @Parameter(description = "Flight id, and an inclusive departure date range (yyyy-MM-dd)")
+            @Valid @ModelAttribute ExportFilter filter,
+            @Parameter(description = "Booking status to keep, e.g. CONFIRMED")
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) {
+        log.info("REST: Export passengers as {} with {} and status {}", format, filter, status);
+        return exportTaskFactory.stream(
+                response,
+                format,
+                "passengers",
+                out -> exportService.exportPassengers(filter, status, format, out)
+        );
+    }
+
     private static class PaginationPassengerResponseDTO
             extends RestApiResponse<PageResponseDTO<PassengerResponseDTO>> {
     }
@@ -1,11 +1,11 @@
 package com.karunamay.airlink.controller.booking;
 
 import com.karunamay.airlink.dto.api.RestApiResponse;
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
 import com.karunamay.airlink.dto.payment.PaymentInitRequestDTO;
 import com.karunamay.airlink.dto.payment.PaymentInitResponseDTO;
 import com.karunamay.airlink.dto.error.ErrorResponseDTO;
 import com.karunamay.airlink.service.payment.StripePaymentService;
-import com.stripe.model.checkout.Session;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -53,7 +53,7 @@ public class PaymentController {
             ) @PathVariable Long bookingId,
             @Valid @RequestBody PaymentInitRequestDTO payload
     ) {
-        Session session = stripePaymentService.createPaymentSession(payload);
+        CheckoutSessionDTO session = stripePaymentService.createPaymentSession(payload);
         return ResponseEntity.ok(
                 RestApiResponse.success(
                         PaymentInitResponseDTO.builder().url(session.getUrl()).build()
@@ -4,6 +4,8 @@ import com.karunamay.airlink.dto.api.RestApiResponse;
 import com.karunamay.airlink.dto.flight.FlightRequestDTO;
 import com.karunamay.airlink.dto.flight.FlightResponseDTO;
 import com.karunamay.airlink.dto.pagination.PageResponseDTO;
+import com.karunamay.airlink.service.export.ManifestFormat;
+import com.karunamay.airlink.service.export.ManifestService;
 import com.karunamay.airlink.service.flight.FlightService;
 import com.karunamay.airlink.validation.group.OnCreate;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +23,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -38,6 +41,7 @@ import org.springframework.web.bind.annotation.*;
 public class FlightController {
 
     private final FlightService flightService;
+    private final ManifestService manifestService;
 
     @Operation(
         summary = "Create a new flight",
@@ -127,6 +131,27 @@ public class FlightController {
         );
     }
 
+    @Operation(
+        summary = "Get the passenger manifest of a flight",
+        description = "Returns every passenger holding a non-cancelled booking, ordered by seat, as CSV or compact JSON."
+    )
+    @ApiResponse(responseCode = "200", description = "Manifest retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Flight not found")
+    @GetMapping("/{id}/manifest")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getManifest(
+        @Parameter(
+            description = "The unique ID of the flight"
+        ) @PathVariable Long id,
+        @RequestParam(defaultValue = "CSV") ManifestFormat format
+    ) {
+        log.info("REST: Fetch {} manifest for flight id {}", format, id);
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, format.attachment("manifest-" + id).toString())
+            .body(manifestService.getManifest(id, format));
+    }
+
     @Operation(
         summary = "Search flight by flight number",
         description = "Retrieves a flight by its unique flight number (e.g., 'AI-101')."
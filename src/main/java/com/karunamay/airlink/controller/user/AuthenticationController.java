@@ -262,8 +262,19 @@ public class AuthenticationController {
                 .maxAge(18000L)
                 .sameSite("none")
                 .build();
+        ResponseCookie rotatedRefreshTokenCookie = ResponseCookie.from(
+                        "refreshToken",
+                        authResponse.getRefreshToken()
+                )
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .maxAge(3600000L)
+                .sameSite("none")
+                .build();
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, accessTokenCookie.toString())
+                .header(HttpHeaders.SET_COOKIE, rotatedRefreshTokenCookie.toString())
                 .body(
                         RestApiResponse.success(
                                 "Token refreshed successfully",
@@ -0,0 +1,23 @@
+package com.karunamay.airlink.dto.export;
+
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.payment.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BookingExportRow(
+        Long id,
+        String pnrCode,
+        Long userId,
+        Long flightId,
+        String flightNo,
+        LocalDateTime departureTime,
+        Integer passengerCount,
+        BigDecimal totalAmount,
+        BookingStatus bookingStatus,
+        PaymentStatus paymentStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
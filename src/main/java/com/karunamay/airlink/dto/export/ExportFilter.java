@@ -0,0 +1,36 @@
+package com.karunamay.airlink.dto.export;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class ExportFilter {
+
+    private Long flightId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @AssertTrue(message = "from must not be after to")
+    public boolean isRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+    public LocalDateTime fromInclusive() {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    // Both bounds are whole days, so the range runs to the start of the day after "to".
+    public LocalDateTime toExclusive() {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.karunamay.airlink.dto.export;
+
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.booking.Gender;
+import com.karunamay.airlink.model.booking.Suffix;
+import com.karunamay.airlink.model.flight.SeatClass;
+
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+public record ManifestEntry(
+        String seatNo,
+        SeatClass seatClass,
+        String pnrCode,
+        BookingStatus bookingStatus,
+        String lastName,
+        String firstName,
+        String middleName,
+        Suffix suffix,
+        Gender gender,
+        LocalDate dob,
+        String govtIdNo,
+        int checkedBagCount
+) {
+
+    public static final List<String> COLUMNS = Arrays.stream(ManifestEntry.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+
+    // Positional, in COLUMNS order, for the compact JSON rendering.
+    public List<Object> values() {
+        return Arrays.asList(
+                seatNo, seatClass, pnrCode, bookingStatus, lastName, firstName, middleName, suffix, gender, dob,
+                govtIdNo, checkedBagCount
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.karunamay.airlink.dto.export;
+
+import java.time.LocalDateTime;
+
+// Doubles as the manifest's cache version: any change to the flight, its bookings or their passengers moves one
+// of these fields, since every write, bulk status updates included, stamps updatedAt.
+public record ManifestHeader(
+        Long flightId,
+        String flightNo,
+        LocalDateTime departureTime,
+        LocalDateTime flightUpdatedAt,
+        Long bookingCount,
+        LocalDateTime bookingsUpdatedAt,
+        Long passengerCount,
+        LocalDateTime passengersUpdatedAt
+) {
+}
@@ -0,0 +1,27 @@
+package com.karunamay.airlink.dto.export;
+
+import com.karunamay.airlink.model.payment.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderExportRow(
+        Long id,
+        Long bookingId,
+        String pnrCode,
+        Long userId,
+        Long flightId,
+        String flightNo,
+        String customerName,
+        String customerEmail,
+        String city,
+        String state,
+        String pinCode,
+        BigDecimal totalAmount,
+        PaymentStatus paymentStatus,
+        String sessionId,
+        String paymentId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,32 @@
+package com.karunamay.airlink.dto.export;
+
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.booking.Gender;
+import com.karunamay.airlink.model.booking.Suffix;
+import com.karunamay.airlink.model.flight.SeatClass;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record PassengerExportRow(
+        Long id,
+        Long bookingId,
+        String pnrCode,
+        BookingStatus bookingStatus,
+        Long flightId,
+        String flightNo,
+        LocalDateTime departureTime,
+        String seatNo,
+        SeatClass seatClass,
+        Suffix suffix,
+        String firstName,
+        String middleName,
+        String lastName,
+        Gender gender,
+        LocalDate dob,
+        String govtIdNo,
+        String email,
+        String phone,
+        int checkedBagCount
+) {
+}
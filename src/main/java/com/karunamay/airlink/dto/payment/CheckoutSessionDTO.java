@@ -0,0 +1,21 @@
+package com.karunamay.airlink.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CheckoutSessionDTO {
+
+    private String id;
+
+    private String url;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.karunamay.airlink.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CheckoutSessionRequestDTO {
+
+    private Long bookingId;
+
+    private Long userId;
+
+    private String productName;
+
+    private Long amountInMinorUnits;
+
+    private String currency;
+}
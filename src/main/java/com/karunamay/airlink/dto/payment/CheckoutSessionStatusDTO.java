@@ -0,0 +1,23 @@
+package com.karunamay.airlink.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CheckoutSessionStatusDTO {
+
+    private String sessionId;
+
+    private String status;
+
+    private String paymentStatus;
+
+    private String paymentIntentStatus;
+
+    private String paymentIntentId;
+}
@@ -0,0 +1,7 @@
+package com.karunamay.airlink.exceptions;
+
+public class InvalidWebhookEventException extends RuntimeException {
+    public InvalidWebhookEventException(String message) {
+        super(message);
+    }
+}
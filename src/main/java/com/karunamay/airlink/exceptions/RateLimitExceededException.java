@@ -0,0 +1,14 @@
+package com.karunamay.airlink.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterInSec;
+
+    public RateLimitExceededException(String message, long retryAfterInSec) {
+        super(message);
+        this.retryAfterInSec = retryAfterInSec;
+    }
+}
@@ -0,0 +1,19 @@
+package com.karunamay.airlink.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterInSec;
+
+    public ServiceUnavailableException(String message, long retryAfterInSec) {
+        super(message);
+        this.retryAfterInSec = retryAfterInSec;
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterInSec, Throwable cause) {
+        super(message, cause);
+        this.retryAfterInSec = retryAfterInSec;
+    }
+}
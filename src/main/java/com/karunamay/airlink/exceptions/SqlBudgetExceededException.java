@@ -0,0 +1,7 @@
+package com.karunamay.airlink.exceptions;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
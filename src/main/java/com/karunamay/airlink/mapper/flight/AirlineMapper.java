@@ -49,7 +49,7 @@ public class AirlineMapper {
     public void updateEntityFromRequest(Airline airline, AirlineRequestDTO requestDTO) {
         if (airline == null || requestDTO == null) return;
         if (requestDTO.getCode() != null) {
-            airline.setCode(requestDTO.getCode());
+            airline.setCode(requestDTO.getCode().toUpperCase());
         }
         if (requestDTO.getName() != null) {
             airline.setName(requestDTO.getName());
@@ -63,7 +63,7 @@ public class AirportMapper {
     ) {
         if (airport == null || requestDTO == null) return;
         if (requestDTO.getCode() != null) {
-            airport.setCode(requestDTO.getCode());
+            airport.setCode(requestDTO.getCode().toUpperCase());
         }
         if (requestDTO.getName() != null) {
             airport.setName(requestDTO.getName());
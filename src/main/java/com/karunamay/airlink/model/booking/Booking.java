@@ -21,9 +21,13 @@ import java.util.Set;
 @Entity
 @Table(name = "bookings",
         indexes = {
-                @Index(name = "idx_booking_user", columnList = "user_id"),
+                @Index(name = "idx_booking_user_created", columnList = "user_id, created_at"),
                 @Index(name = "idx_booking_flight", columnList = "flight_id"),
                 @Index(name = "idx_booking_status", columnList = "booking_status, payment_status")
+        },
+        // Per-partition only; global PNR uniqueness is enforced by the booking_pnr table.
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_booking_pnr_code", columnNames = {"pnr_code", "created_at"})
         })
 @Getter
 @Setter
@@ -34,7 +38,8 @@ import java.util.Set;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -70,7 +75,7 @@ public class Booking {
     @Builder.Default
     private PaymentStatus paymentStatus = PaymentStatus.PENDING;
 
-    @Column(name = "pnr_code", nullable = false, unique = true, length = 10)
+    @Column(name = "pnr_code", nullable = false, length = 10)
     @NotNull(message = "PNR code is required")
     private String pnrCode;
 
@@ -30,7 +30,8 @@ import java.time.LocalDateTime;
 public class Passenger {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passengers_id_seq")
+    @SequenceGenerator(name = "passengers_id_seq", sequenceName = "passengers_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
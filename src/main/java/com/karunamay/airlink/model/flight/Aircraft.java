@@ -6,7 +6,11 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,6 +18,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aircraft")
+@NaturalIdCache(region = "aircraft-natural-id")
 @Table(name = "aircrafts",
         indexes = {
                 @Index(name = "idx_aircraft_model", columnList = "model"),
@@ -28,7 +34,8 @@ import java.util.Set;
 public class Aircraft {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aircrafts_id_seq")
+    @SequenceGenerator(name = "aircrafts_id_seq", sequenceName = "aircrafts_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -39,6 +46,7 @@ public class Aircraft {
 
     @NotBlank(message = "Registration number is required")
     @Size(min = 5, max = 7, message = "Registration number must be between 5 and 7 characters")
+    @NaturalId(mutable = true)
     @Column(name = "registration_number", nullable = false, unique = true, length = 7)
     private String registrationNumber;
 
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +16,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airline")
+@NaturalIdCache(region = "airline-natural-id")
 @Table(name = "airlines",
         indexes = {
                 @Index(name = "idx_airline_name", columnList = "name"),
@@ -30,12 +36,14 @@ import java.util.Set;
 public class Airline {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "airlines_id_seq")
+    @SequenceGenerator(name = "airlines_id_seq", sequenceName = "airlines_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @NotBlank(message = "Code is required")
     @Size(min = 2, max = 2, message = "Code must be 2 characters only")
+    @NaturalId(mutable = true)
     @Column(name = "code", nullable = false, unique = true, length = 2)
     private String code;
 
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +16,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airport")
+@NaturalIdCache(region = "airport-natural-id")
 @Table(name = "airports",
         indexes = {
                 @Index(name = "idx_airport_name", columnList = "name"),
@@ -30,12 +36,14 @@ import java.util.Set;
 public class Airport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "airports_id_seq")
+    @SequenceGenerator(name = "airports_id_seq", sequenceName = "airports_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @NotBlank(message = "Code is required")
     @Size(min = 3, max = 4, message = "Code must be 3 or 4 characters")
+    @NaturalId(mutable = true)
     @Column(name = "code", nullable = false, unique = true, length = 4)
     private String code;
 
@@ -19,7 +19,11 @@ import java.util.Set;
 @Table(name = "flights",
         indexes = {
                 @Index(name = "idx_flight_departure", columnList = "departure_time"),
-                @Index(name = "idx_flight_route", columnList = "source_airport_id, destination_airport_id"),
+                @Index(name = "idx_flight_route", columnList = "source_airport_id, destination_airport_id, departure_time"),
+        },
+        // Per-partition only; global flight number uniqueness is enforced by the flight_number table.
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_flight_no", columnNames = {"flight_no", "departure_time"})
         })
 @Getter
 @Setter
@@ -30,7 +34,8 @@ import java.util.Set;
 public class Flight {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flights_id_seq")
+    @SequenceGenerator(name = "flights_id_seq", sequenceName = "flights_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -56,7 +61,7 @@ public class Flight {
 
     @NotBlank(message = "Flight number is required")
     @Size(min = 2, max = 10, message = "Flight number must be between 2 and 10 characters")
-    @Column(name = "flight_no", nullable = false, unique = true, length = 10)
+    @Column(name = "flight_no", nullable = false, length = 10)
     private String flightNo;
 
     @NotNull(message = "Departure time is required")
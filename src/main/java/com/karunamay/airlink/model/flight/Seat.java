@@ -22,7 +22,7 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_seat_availability", columnList = "flight_id, is_available, seat_class")
         },
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_flight_seat_no", columnNames = {"flight_id", "seat_no"})
+                @UniqueConstraint(name = "uk_flight_seat_no", columnNames = {"flight_id", "seat_no", "departure_time"})
         })
 @Getter
 @Setter
@@ -33,7 +33,8 @@ import java.time.LocalDateTime;
 public class Seat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seats_id_seq")
+    @SequenceGenerator(name = "seats_id_seq", sequenceName = "seats_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -68,6 +69,10 @@ public class Seat {
     @OneToOne(mappedBy = "seat")
     private Passenger passenger;
 
+    // Partition key, copied from the flight on insert; the database cascades later departure changes.
+    @Column(name = "departure_time", nullable = false, updatable = false)
+    private LocalDateTime departureTime;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -76,6 +81,11 @@ public class Seat {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    void copyDepartureTime() {
+        this.departureTime = flight.getDepartureTime();
+    }
+
     public Boolean hasBooking() {
         return this.booking != null;
     }
@@ -0,0 +1,53 @@
+package com.karunamay.airlink.model.payment;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Table(
+        name = "booking_checkout_session",
+        indexes = {
+                @Index(name = "idx_booking_checkout_session_expires", columnList = "expires_at")
+        })
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class BookingCheckoutSession {
+
+    @Id
+    @Column(name = "booking_id", nullable = false, updatable = false)
+    private Long bookingId;
+
+    @NotNull(message = "Session ID is required")
+    @Column(name = "session_id", nullable = false, unique = true, length = 200)
+    private String sessionId;
+
+    @NotNull(message = "Session URL is required")
+    @Column(name = "url", nullable = false, length = 2048)
+    private String url;
+
+    @NotNull(message = "Amount is required")
+    @Column(name = "amount_in_minor_units", nullable = false)
+    private Long amountInMinorUnits;
+
+    @NotNull(message = "Expiry is required")
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
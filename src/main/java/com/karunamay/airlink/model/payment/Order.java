@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
         name = "orders",
         indexes = {
                 @Index(name = "idx_order_user_id", columnList = "user_id"),
-                @Index(name = "idx_order_booking_id", columnList = "booking_id")
+                @Index(name = "idx_order_booking_id", columnList = "booking_id"),
+                @Index(name = "idx_order_payment_status_created", columnList = "payment_status, created_at")
         })
 @Entity
 @Getter
@@ -30,7 +31,8 @@ import java.time.LocalDateTime;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
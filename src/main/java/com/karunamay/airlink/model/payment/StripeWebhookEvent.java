@@ -0,0 +1,72 @@
+package com.karunamay.airlink.model.payment;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Table(
+        name = "stripe_webhook_event",
+        indexes = {
+                @Index(name = "idx_stripe_webhook_event_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_stripe_webhook_event_booking", columnList = "booking_id, received_at")
+        })
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString(exclude = {"payload"})
+public class StripeWebhookEvent {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false, length = 100)
+    private String id;
+
+    @NotNull(message = "Event type is required")
+    @Column(name = "type", nullable = false, updatable = false, length = 100)
+    private String type;
+
+    @Column(name = "booking_id", updatable = false)
+    private Long bookingId;
+
+    @NotNull(message = "Payload is required")
+    @Column(name = "payload", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @NotNull(message = "Status is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WebhookEventStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @NotNull(message = "Next attempt is required")
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "trace_parent", updatable = false, length = 55)
+    private String traceParent;
+
+    @CreationTimestamp
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
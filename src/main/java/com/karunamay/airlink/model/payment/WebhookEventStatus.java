@@ -0,0 +1,8 @@
+package com.karunamay.airlink.model.payment;
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    DEAD_LETTER,
+}
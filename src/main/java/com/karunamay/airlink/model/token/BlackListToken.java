@@ -8,6 +8,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Table(
@@ -17,8 +19,8 @@ import org.hibernate.annotations.UpdateTimestamp;
     },
     uniqueConstraints = {
         @UniqueConstraint(
-            name = "uk_blacklist_token_token",
-            columnNames = "token"
+            name = "uk_blacklist_token_jti",
+            columnNames = { "jti", "expired_at" }
         ),
     }
 )
@@ -32,12 +34,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class BlackListToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blacklist_token_id_seq")
+    @SequenceGenerator(name = "blacklist_token_id_seq", sequenceName = "blacklist_token_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @NotBlank(message = "Token id is required")
-    @Column(name = "jti", nullable = false, updatable = false, unique = true)
+    @Column(name = "jti", nullable = false, updatable = false)
     private String tokenId;
 
     @NotNull(message = "User is required")
@@ -46,10 +49,11 @@ public class BlackListToken {
         name = "user_id",
         nullable = false
     )
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @NotNull(message = "Expiry date is required")
-    @Column(name = "expired_at", nullable = false)
+    @Column(name = "expired_at", nullable = false, updatable = false)
     private LocalDate expiryDate;
 
     @CreationTimestamp
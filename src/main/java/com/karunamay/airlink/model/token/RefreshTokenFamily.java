@@ -0,0 +1,63 @@
+package com.karunamay.airlink.model.token;
+
+import com.karunamay.airlink.model.user.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+@Table(
+    name = "refresh_token_family",
+    indexes = {
+        @Index(name = "idx_refresh_token_family_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_family_expires", columnList = "expires_at"),
+    }
+)
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString(exclude = { "user" })
+public class RefreshTokenFamily {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false, length = 36)
+    private String id;
+
+    @NotBlank(message = "Current token id is required")
+    @Column(name = "current_jti", nullable = false, length = 36)
+    private String currentTokenId;
+
+    @NotNull(message = "User is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @NotNull(message = "Expiry is required")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @NotNull(message = "Absolute expiry is required")
+    @Column(name = "absolute_expires_at", nullable = false, updatable = false)
+    private LocalDateTime absoluteExpiresAt;
+
+    @Builder.Default
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
@@ -14,6 +18,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permission")
+@NaturalIdCache(region = "permission-natural-id")
 @Table(name = "permission",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_permission_name", columnNames = "name")
@@ -30,12 +36,14 @@ import java.util.Set;
 public class Permission implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permission_id_seq")
+    @SequenceGenerator(name = "permission_id_seq", sequenceName = "permission_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @NotBlank(message = "Permission name is required")
     @Size(min = 3, max = 100, message = "Permission name must be between 3 and 100 characters")
+    @NaturalId(mutable = true)
     @Column(name = "name", nullable = false, unique = true, length = 100)
     private String name;
 
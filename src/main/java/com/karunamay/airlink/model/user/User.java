@@ -3,7 +3,6 @@ package com.karunamay.airlink.model.user;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.karunamay.airlink.model.booking.Booking;
 import com.karunamay.airlink.model.payment.Order;
-import com.karunamay.airlink.model.token.BlackListToken;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -42,7 +41,8 @@ import java.util.stream.Collectors;
 public class User implements UserDetails, Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -121,10 +121,6 @@ public class User implements UserDetails, Serializable {
     @Builder.Default
     private Set<Booking> bookings = new HashSet<>();
 
-    @OneToMany(fetch = FetchType.EAGER, cascade = {CascadeType.ALL}, mappedBy = "user")
-    @Builder.Default
-    private Set<BlackListToken> blackListTokens = new HashSet<>();
-
     @OneToMany(fetch = FetchType.LAZY, cascade = {CascadeType.ALL}, mappedBy = "user")
     @Builder.Default
     private Set<Order> orders = new HashSet<>();
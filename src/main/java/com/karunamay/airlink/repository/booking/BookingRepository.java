@@ -1,15 +1,29 @@
 package com.karunamay.airlink.repository.booking;
 
+import com.karunamay.airlink.dto.export.BookingExportRow;
 import com.karunamay.airlink.model.booking.Booking;
 import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.payment.PaymentStatus;
 import com.karunamay.airlink.model.user.User;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Hidden
@@ -23,4 +37,78 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Optional<Booking> findByUserUsername(String username);
 
+    // booking_pnr also holds the codes of archived bookings, which findByPnrCode no longer sees.
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM booking_pnr WHERE pnr_code = :pnrCode)", nativeQuery = true)
+    boolean isPnrCodeTaken(@Param("pnrCode") String pnrCode);
+
+    interface ReconciliationView {
+        Long getBookingId();
+
+        String getSessionId();
+
+        PaymentStatus getPaymentStatus();
+
+        Long getOrderId();
+    }
+
+    // A booking whose completion webhook was lost has no order yet, so its checkout session is the only handle.
+    @Query("""
+            SELECT b.id AS bookingId, s.sessionId AS sessionId, b.paymentStatus AS paymentStatus, o.id AS orderId
+            FROM Booking b JOIN BookingCheckoutSession s ON s.bookingId = b.id LEFT JOIN b.order o
+            WHERE b.paymentStatus IN :statuses AND b.updatedAt < :updatedBefore AND b.id > :afterId
+            ORDER BY b.id
+            """)
+    List<ReconciliationView> findReconciliationPage(
+            @Param("statuses") Collection<PaymentStatus> statuses,
+            @Param("updatedBefore") LocalDateTime updatedBefore,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Locks the bookings a guarded status update is about to move, so the caller knows exactly which ones changed.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.paymentStatus IN :expected")
+    List<Long> lockIdsWithPaymentStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("expected") Collection<PaymentStatus> expected
+    );
+
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.bookingStatus = :bookingStatus, b.paymentStatus = :paymentStatus, b.updatedAt = :now
+            WHERE b.id IN :ids AND b.paymentStatus IN :expected
+            """)
+    int updateStatuses(
+            @Param("ids") Collection<Long> ids,
+            @Param("expected") Collection<PaymentStatus> expected,
+            @Param("bookingStatus") BookingStatus bookingStatus,
+            @Param("paymentStatus") PaymentStatus paymentStatus,
+            @Param("now") LocalDateTime now
+    );
+
+    // Flat rows over a server-side cursor: nothing enters the persistence context, so memory stays flat.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.karunamay.airlink.dto.export.BookingExportRow(
+                b.id, b.pnrCode, b.user.id, f.id, f.flightNo, f.departureTime, b.passengerCount, b.totalAmount,
+                b.bookingStatus, b.paymentStatus, b.createdAt, b.updatedAt
+            )
+            FROM Booking b JOIN b.flight f
+            WHERE (:flightId IS NULL OR f.id = :flightId)
+            AND (:from IS NULL OR b.createdAt >= :from)
+            AND (:to IS NULL OR b.createdAt < :to)
+            AND (:status IS NULL OR b.bookingStatus = :status)
+            ORDER BY b.id
+            """)
+    Stream<BookingExportRow> streamForExport(
+            @Param("flightId") Long flightId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("status") BookingStatus status
+    );
+
 }
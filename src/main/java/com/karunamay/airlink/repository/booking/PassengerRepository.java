@@ -1,13 +1,84 @@
 package com.karunamay.airlink.repository.booking;
 
+import com.karunamay.airlink.dto.export.ManifestEntry;
+import com.karunamay.airlink.dto.export.ManifestHeader;
+import com.karunamay.airlink.dto.export.PassengerExportRow;
+import com.karunamay.airlink.model.booking.BookingStatus;
 import com.karunamay.airlink.model.booking.Passenger;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 @Hidden
 public interface PassengerRepository extends JpaRepository<Passenger, Long> {
 
+    // Filters on the seat's departure time, the seats partition key, so a date range only reads those months.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.karunamay.airlink.dto.export.PassengerExportRow(
+                p.id, b.id, b.pnrCode, b.bookingStatus, f.id, f.flightNo, s.departureTime, s.seatNo, s.seatClass,
+                p.suffix, p.firstName, p.middleName, p.lastName, p.gender, p.dob, p.govtIdNo, p.email, p.phone,
+                p.checkedBagCount
+            )
+            FROM Passenger p JOIN p.seat s JOIN s.flight f LEFT JOIN p.booking b
+            WHERE (:flightId IS NULL OR f.id = :flightId)
+            AND (:from IS NULL OR s.departureTime >= :from)
+            AND (:to IS NULL OR s.departureTime < :to)
+            AND (:status IS NULL OR b.bookingStatus = :status)
+            ORDER BY s.departureTime, f.id, s.seatNo
+            """)
+    Stream<PassengerExportRow> streamForExport(
+            @Param("flightId") Long flightId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("status") BookingStatus status
+    );
+
+    @Query("""
+            SELECT new com.karunamay.airlink.dto.export.ManifestHeader(
+                f.id, f.flightNo, f.departureTime, f.updatedAt,
+                (SELECT COUNT(b) FROM Booking b WHERE b.flight.id = f.id),
+                (SELECT MAX(b.updatedAt) FROM Booking b WHERE b.flight.id = f.id),
+                (SELECT COUNT(p) FROM Passenger p WHERE p.booking.flight.id = f.id),
+                (SELECT MAX(p.updatedAt) FROM Passenger p WHERE p.booking.flight.id = f.id)
+            )
+            FROM Flight f
+            WHERE f.id = :flightId
+            """)
+    Optional<ManifestHeader> findManifestHeader(@Param("flightId") Long flightId);
+
+    // The departure time restricts the scan to the flight's seats partition.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.karunamay.airlink.dto.export.ManifestEntry(
+                s.seatNo, s.seatClass, b.pnrCode, b.bookingStatus, p.lastName, p.firstName, p.middleName, p.suffix,
+                p.gender, p.dob, p.govtIdNo, p.checkedBagCount
+            )
+            FROM Passenger p JOIN p.seat s JOIN p.booking b
+            WHERE s.flight.id = :flightId
+            AND s.departureTime = :departureTime
+            AND b.bookingStatus <> com.karunamay.airlink.model.booking.BookingStatus.CANCELLED
+            """)
+    List<ManifestEntry> findManifestEntries(
+            @Param("flightId") Long flightId,
+            @Param("departureTime") LocalDateTime departureTime
+    );
 }
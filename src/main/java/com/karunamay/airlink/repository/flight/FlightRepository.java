@@ -49,4 +49,19 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
         @Param("seatCount") Integer seats,
         Pageable pageable
     );
+
+    @Query(
+        """
+        SELECT f.id
+        FROM Flight f
+        WHERE f.departureTime >= :from
+        AND f.departureTime < :to
+        AND f.status <> com.karunamay.airlink.model.flight.FlightStatus.CANCELLED
+        ORDER BY f.departureTime
+        """
+    )
+    List<Long> findIdsDepartingBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
 }
@@ -1,12 +1,23 @@
 package com.karunamay.airlink.repository.order;
 
+import com.karunamay.airlink.dto.export.OrderExportRow;
 import com.karunamay.airlink.model.payment.Order;
 import com.karunamay.airlink.model.payment.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -18,4 +29,41 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findBySessionId(String sessionId);
 
+    // The status guard keeps a webhook that landed mid-run from being overwritten.
+    @Modifying
+    @Query("""
+            UPDATE Order o SET o.paymentStatus = :status, o.updatedAt = :now
+            WHERE o.id IN :ids AND o.paymentStatus IN :expected
+            """)
+    int updatePaymentStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("expected") Collection<PaymentStatus> expected,
+            @Param("status") PaymentStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.karunamay.airlink.dto.export.OrderExportRow(
+                o.id, b.id, b.pnrCode, o.user.id, f.id, f.flightNo, o.customerName, o.customerEmail, o.city,
+                o.state, o.pinCode, o.totalAmount, o.paymentStatus, o.sessionId, o.paymentId, o.createdAt, o.updatedAt
+            )
+            FROM Order o JOIN o.booking b JOIN b.flight f
+            WHERE (:flightId IS NULL OR f.id = :flightId)
+            AND (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            AND (:status IS NULL OR o.paymentStatus = :status)
+            ORDER BY o.id
+            """)
+    Stream<OrderExportRow> streamForExport(
+            @Param("flightId") Long flightId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("status") PaymentStatus status
+    );
+
 }
@@ -0,0 +1,49 @@
+package com.karunamay.airlink.repository.payment;
+
+import com.karunamay.airlink.model.payment.BookingCheckoutSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Repository
+public interface BookingCheckoutSessionRepository extends JpaRepository<BookingCheckoutSession, Long> {
+
+    // Two nodes may each open a provider session for the same booking. The row only moves to the newcomer when the
+    // recorded session can no longer be reused, so the first reusable one wins and the loser's session just lapses.
+    @Transactional
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO booking_checkout_session
+                        (booking_id, session_id, url, amount_in_minor_units, expires_at, created_at, updated_at)
+                    VALUES (:bookingId, :sessionId, :url, :amount, :expiresAt, :now, :now)
+                    ON CONFLICT (booking_id) DO UPDATE
+                    SET session_id = EXCLUDED.session_id, url = EXCLUDED.url,
+                        amount_in_minor_units = EXCLUDED.amount_in_minor_units, expires_at = EXCLUDED.expires_at,
+                        updated_at = EXCLUDED.updated_at
+                    WHERE booking_checkout_session.expires_at < :reusableUntil
+                       OR booking_checkout_session.amount_in_minor_units <> EXCLUDED.amount_in_minor_units
+                    """,
+            nativeQuery = true
+    )
+    int registerUnlessReusable(
+            @Param("bookingId") Long bookingId,
+            @Param("sessionId") String sessionId,
+            @Param("url") String url,
+            @Param("amount") long amountInMinorUnits,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("reusableUntil") Instant reusableUntil,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BookingCheckoutSession s WHERE s.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,87 @@
+package com.karunamay.airlink.repository.payment;
+
+import com.karunamay.airlink.model.payment.StripeWebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    // Stripe redelivers events; the first copy wins and later ones are dropped without touching the row.
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO stripe_webhook_event
+                        (id, type, booking_id, payload, trace_parent, status, attempts, next_attempt_at, received_at, updated_at)
+                    VALUES (:id, :type, :bookingId, :payload, :traceParent, 'PENDING', 0, :now, :now, :now)
+                    ON CONFLICT (id) DO NOTHING
+                    """,
+            nativeQuery = true
+    )
+    int insertIfAbsent(
+            @Param("id") String id,
+            @Param("type") String type,
+            @Param("bookingId") Long bookingId,
+            @Param("payload") String payload,
+            @Param("traceParent") String traceParent,
+            @Param("now") LocalDateTime now
+    );
+
+    // Only the oldest unfinished event of a booking is eligible, which keeps per-booking delivery in order.
+    @Query(
+            value = """
+                    SELECT e.* FROM stripe_webhook_event e
+                    WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now
+                    AND NOT EXISTS (
+                        SELECT 1 FROM stripe_webhook_event p
+                        WHERE p.booking_id = e.booking_id
+                        AND p.id <> e.id
+                        AND (p.status = 'PROCESSING' OR (p.status = 'PENDING' AND p.received_at < e.received_at))
+                    )
+                    ORDER BY e.received_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true
+    )
+    List<StripeWebhookEvent> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // A lease that expires counts as a failed attempt: an event that kills its worker must still reach the dead letter.
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.DEAD_LETTER, e.attempts = e.attempts + 1,
+                e.claimedAt = null, e.lastError = 'Worker lease expired', e.updatedAt = :now
+            WHERE e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.PROCESSING AND e.claimedAt < :claimedBefore
+            AND e.attempts + 1 >= :maxAttempts
+            """)
+    int deadLetterStale(
+            @Param("claimedBefore") LocalDateTime claimedBefore,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.PENDING, e.attempts = e.attempts + 1,
+                e.claimedAt = null, e.lastError = 'Worker lease expired', e.updatedAt = :now
+            WHERE e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.PROCESSING AND e.claimedAt < :claimedBefore
+            """)
+    int releaseStale(@Param("claimedBefore") LocalDateTime claimedBefore, @Param("now") LocalDateTime now);
+
+    // Hands back a claim that never reached a worker, without charging it an attempt.
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.PENDING, e.claimedAt = null, e.updatedAt = :now
+            WHERE e.id = :id AND e.status = com.karunamay.airlink.model.payment.WebhookEventStatus.PROCESSING
+            """)
+    int releaseClaim(@Param("id") String id, @Param("now") LocalDateTime now);
+}
@@ -2,12 +2,19 @@ package com.karunamay.airlink.repository.token;
 
 import com.karunamay.airlink.model.token.BlackListToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 @Repository
 public interface BlackListTokenRepository extends JpaRepository<BlackListToken, Long> {
 
     Optional<BlackListToken> findByTokenId(String token);
+
+    // The expiry bound lets the planner prune every partition that expired before the given day.
+    @Query("SELECT COUNT(b) > 0 FROM BlackListToken b WHERE b.tokenId = :tokenId AND b.expiryDate >= :today")
+    boolean existsActiveByTokenId(@Param("tokenId") String tokenId, @Param("today") LocalDate today);
 }
@@ -0,0 +1,38 @@
+package com.karunamay.airlink.repository.token;
+
+import com.karunamay.airlink.model.token.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    // Compare-and-set on the primary key: only the holder of the current jti can advance the family. The sliding
+    // expiry never moves past the absolute one set at issue, so an active family still ends.
+    @Modifying
+    @Query("""
+            UPDATE RefreshTokenFamily f
+            SET f.currentTokenId = :nextTokenId, f.expiresAt = LEAST(:expiresAt, f.absoluteExpiresAt), f.updatedAt = :now
+            WHERE f.id = :familyId AND f.currentTokenId = :tokenId AND f.revoked = false AND f.expiresAt > :now
+            """)
+    int rotate(
+            @Param("familyId") String familyId,
+            @Param("tokenId") String tokenId,
+            @Param("nextTokenId") String nextTokenId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revoked = true, f.updatedAt = :now WHERE f.id = :familyId AND f.revoked = false")
+    int revoke(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
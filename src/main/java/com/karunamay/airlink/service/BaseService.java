@@ -1,15 +1,28 @@
 package com.karunamay.airlink.service;
 
 import com.karunamay.airlink.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class BaseService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public <T, R extends CrudRepository<T, Long>> T findByIdOrThrow(Long id, R repository) {
         return repository
                 .findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Object not found with id " + id));
     }
+
+    // Resolves through the natural-id cache when the entity has one, unlike derived findByX queries.
+    public <T> Optional<T> findByNaturalId(Class<T> type, Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(type).loadOptional(naturalId);
+    }
 }
@@ -0,0 +1,126 @@
+package com.karunamay.airlink.service.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves flights that departed before the retention window, with their seats, bookings, passengers and orders,
+// into the *_archive tables. A whole aggregate moves in one transaction, so no live row ever points at an
+// archived one. A flight stays live while any of its bookings is still unsettled, so nothing that payment
+// handling or reconciliation may yet touch leaves the live tables.
+@Component
+@Slf4j
+public class ColdDataArchivalJob {
+
+    private static final String FLIGHT_BOOKINGS = "SELECT id FROM bookings WHERE flight_id IN (:flightIds)";
+
+    private static final String UNSETTLED_BOOKING = """
+            SELECT 1 FROM bookings b
+            WHERE b.flight_id = f.id
+              AND (b.booking_status NOT IN ('CONFIRMED', 'CANCELLED')
+                   OR b.payment_status NOT IN ('PAID', 'FAILED')
+                   OR EXISTS (SELECT 1 FROM booking_checkout_session c
+                              WHERE c.booking_id = b.id AND c.expires_at > now()))
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyPartitionMaintenance partitionMaintenance;
+    private final Map<String, String> archiveColumns = new HashMap<>();
+
+    @Value("${app.archive.retentionInDays}")
+    private long retentionInDays;
+
+    @Value("${app.archive.batchSize}")
+    private int batchSize;
+
+    public ColdDataArchivalJob(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MonthlyPartitionMaintenance partitionMaintenance
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionMaintenance = partitionMaintenance;
+    }
+
+    @Scheduled(cron = "${app.archive.cron}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionInDays);
+        int flights = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            flights += moved;
+        } while (moved == batchSize);
+
+        int dropped = partitionMaintenance.dropEmptyPartitionsBefore(YearMonth.from(cutoff));
+        log.info("Archived {} flights departed before {}; dropped {} empty partitions", flights, cutoff, dropped);
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+        List<Long> flightIds = jdbcTemplate.queryForList(
+                "SELECT f.id FROM flights f WHERE f.departure_time < :cutoff "
+                        + "AND NOT EXISTS (" + UNSETTLED_BOOKING + ") "
+                        + "ORDER BY f.departure_time LIMIT :limit FOR UPDATE SKIP LOCKED",
+                params,
+                Long.class
+        );
+        if (flightIds.isEmpty()) {
+            return 0;
+        }
+        params.addValue("flightIds", flightIds);
+
+        jdbcTemplate.update(
+                "DELETE FROM booking_checkout_session WHERE booking_id IN (" + FLIGHT_BOOKINGS + ")",
+                params
+        );
+        move("orders", "booking_id IN (" + FLIGHT_BOOKINGS + ")", params);
+        move(
+                "passengers",
+                "booking_id IN (" + FLIGHT_BOOKINGS + ") OR seat_id IN "
+                        + "(SELECT id FROM seats WHERE flight_id IN (:flightIds) AND departure_time < :cutoff)",
+                params
+        );
+        // Seats reference their booking, so they leave before it.
+        move("seats", "flight_id IN (:flightIds) AND departure_time < :cutoff", params);
+        move("bookings", "flight_id IN (:flightIds)", params);
+        move("flights", "id IN (:flightIds) AND departure_time < :cutoff", params);
+        return flightIds.size();
+    }
+
+    private void move(String table, String condition, MapSqlParameterSource params) {
+        String columns = archiveColumns.computeIfAbsent(table, this::columnsOf);
+        jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + table + " WHERE " + condition + " RETURNING *) "
+                        + "INSERT INTO " + table + "_archive (" + columns + ") SELECT " + columns + " FROM moved",
+                params
+        );
+    }
+
+    // Explicit column lists keep the copy correct even if a later migration orders the columns differently.
+    private String columnsOf(String table) {
+        return jdbcTemplate.queryForObject(
+                """
+                SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+                FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = :table
+                """,
+                Map.of("table", table + "_archive"),
+                String.class
+        );
+    }
+}
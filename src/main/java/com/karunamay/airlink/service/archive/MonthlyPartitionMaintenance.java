@@ -0,0 +1,91 @@
+package com.karunamay.airlink.service.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyPartitionMaintenance {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Referencing tables first: a flights partition can only be detached once its seats are gone.
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("seats", "departure_time"),
+            new PartitionedTable("bookings", "created_at"),
+            new PartitionedTable("flights", "departure_time")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partition.monthsAhead}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partition.maintenanceCron}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (PartitionedTable table : TABLES) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                Boolean created = jdbcTemplate.queryForObject(
+                        "SELECT create_monthly_partition(?, ?, ?)",
+                        Boolean.class,
+                        table.name(),
+                        table.keyColumn(),
+                        month.atDay(1)
+                );
+                if (!Boolean.TRUE.equals(created)) {
+                    log.warn("{}_default already holds rows for {}; partition not created", table.name(), month);
+                }
+            }
+        }
+    }
+
+    public int dropEmptyPartitionsBefore(YearMonth cutoff) {
+        int dropped = 0;
+        for (PartitionedTable table : TABLES) {
+            String prefix = table.name() + "_p";
+            List<String> partitions = jdbcTemplate.queryForList(
+                    """
+                    SELECT c.relname FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    JOIN pg_class p ON p.oid = i.inhparent
+                    WHERE p.relname = ?
+                    """,
+                    String.class,
+                    table.name()
+            );
+            for (String partition : partitions) {
+                if (!partition.startsWith(prefix)) {
+                    continue;
+                }
+                YearMonth month = YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+                Boolean empty = jdbcTemplate.queryForObject(
+                        "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")",
+                        Boolean.class
+                );
+                if (month.isBefore(cutoff) && Boolean.TRUE.equals(empty)) {
+                    jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private record PartitionedTable(String name, String keyColumn) {
+    }
+}
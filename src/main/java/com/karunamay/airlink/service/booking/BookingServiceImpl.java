@@ -1,5 +1,6 @@
 package com.karunamay.airlink.service.booking;
 
+import com.karunamay.airlink.config.ReadYourWritesTracker;
 import com.karunamay.airlink.dto.booking.BookingRequestDTO;
 import com.karunamay.airlink.dto.booking.BookingResponseDTO;
 import com.karunamay.airlink.dto.pagination.PageResponseDTO;
@@ -12,8 +13,10 @@ import com.karunamay.airlink.model.booking.Passenger;
 import com.karunamay.airlink.model.user.User;
 import com.karunamay.airlink.repository.booking.BookingRepository;
 import com.karunamay.airlink.service.BaseService;
+import com.karunamay.airlink.service.metrics.FunnelMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +35,8 @@ public class BookingServiceImpl implements BookingService {
     private final BookingMapper bookingMapper;
     private final PassengerMapper passengerMapper;
     private final BaseService baseService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final FunnelMetrics funnelMetrics;
 
     @Override
     @Transactional(readOnly = true)
@@ -80,24 +85,42 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingResponseDTO createBooking(BookingRequestDTO requestDTO) {
         log.info("Create new booking");
-
-        Booking booking = bookingMapper.toEntity(requestDTO);
-
-        Set<Passenger> bookingPassengers = booking.getPassengers();
-        bookingPassengers.forEach(passenger -> {
-            booking.addPassenger(passenger);
-            booking.addSeat(passenger.getSeat());
-            passenger.setBooking(booking);
-        });
-
-        String pnr = UUID.randomUUID().toString().replace("-", "");
-        booking.setPnrCode(pnr.substring(0, Math.min(10, pnr.length())));
-
-        Booking savedBooking = bookingRepository.save(booking);
-
-        log.info("Booking created successfully");
-
-        return bookingMapper.toResponseDTO(savedBooking);
+        long start = funnelMetrics.start();
+
+        try {
+            Booking booking = bookingMapper.toEntity(requestDTO);
+
+            Set<Passenger> bookingPassengers = booking.getPassengers();
+            bookingPassengers.forEach(passenger -> {
+                booking.addPassenger(passenger);
+                booking.addSeat(passenger.getSeat());
+                passenger.setBooking(booking);
+            });
+
+            booking.setPnrCode(generatePnrCode());
+
+            // Flushed here rather than at commit so a seat already taken by another booking surfaces inside this method.
+            Booking savedBooking = bookingRepository.saveAndFlush(booking);
+            readYourWritesTracker.markCurrentUserWrite();
+
+            log.info("Booking created successfully");
+
+            BookingResponseDTO response = bookingMapper.toResponseDTO(savedBooking);
+            funnelMetrics.recordBooking(start, FunnelMetrics.BookingOutcome.CREATED);
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            funnelMetrics.recordBooking(
+                    start,
+                    cause.contains("uk_passenger_seat")
+                            ? FunnelMetrics.BookingOutcome.SEAT_CONFLICT
+                            : FunnelMetrics.BookingOutcome.FAILED
+            );
+            throw e;
+        } catch (RuntimeException e) {
+            funnelMetrics.recordBooking(start, FunnelMetrics.BookingOutcome.FAILED);
+            throw e;
+        }
     }
 
     @Override
@@ -134,6 +157,14 @@ public class BookingServiceImpl implements BookingService {
                 );
     }
 
+    private String generatePnrCode() {
+        String pnr;
+        do {
+            pnr = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        } while (bookingRepository.isPnrCodeTaken(pnr));
+        return pnr;
+    }
+
     private Booking findBookingByPnrOrThrow(String pnrCode) {
         return bookingRepository
                 .findByPnrCode(pnrCode)
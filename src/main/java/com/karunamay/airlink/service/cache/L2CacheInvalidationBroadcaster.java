@@ -0,0 +1,192 @@
+package com.karunamay.airlink.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// The L2 cache is per node; committed updates and deletes of cached entities are announced over
+// PostgreSQL NOTIFY so every other node evicts its copy instead of serving it until the TTL expires.
+// With replica routing on, a peer's next read-only load may still see the old row on a lagging replica and cache
+// it again, so each eviction is repeated once every replica the router would still use has caught up.
+@Component
+@Slf4j
+public class L2CacheInvalidationBroadcaster implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private SessionFactoryImplementor sessionFactory;
+    private Thread listener;
+    private ScheduledExecutorService delayedEvictions;
+    private volatile boolean running = true;
+
+    @Value("${app.cache.invalidation.channel}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.pollTimeoutInMs}")
+    private int pollTimeoutInMs;
+
+    @Value("${app.cache.invalidation.reconnectDelayInMs}")
+    private long reconnectDelayInMs;
+
+    @Value("${app.datasource.routing.enabled}")
+    private boolean replicaRoutingEnabled;
+
+    @Value("${app.datasource.routing.maxLagInMs}")
+    private long maxLagInMs;
+
+    @Value("${app.datasource.routing.lagCheckIntervalInMs}")
+    private long lagCheckIntervalInMs;
+
+    public L2CacheInvalidationBroadcaster(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void start() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        if (replicaRoutingEnabled) {
+            delayedEvictions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "l2-cache-delayed-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        listener = new Thread(this::listen, "l2-cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+        if (delayedEvictions != null) {
+            delayedEvictions.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        // A fresh autocommit connection: this runs after commit, outside any Spring-managed transaction.
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            connection.setAutoCommit(true);
+            statement.setString(1, channel);
+            statement.setString(2, nodeId + "|" + persister.getEntityName() + "|" + id);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not broadcast cache invalidation for {}#{}: {}", persister.getEntityName(), id, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything published while we were not listening is lost, so start from a clean cache.
+                sessionFactory.getCache().evictAllRegions();
+                log.info("Listening for second-level cache invalidations on {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutInMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        evict(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayInMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void evict(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        String entityName = parts[1];
+        Long id = Long.valueOf(parts[2]);
+        evict(entityName, id);
+        if (delayedEvictions != null) {
+            // A replica is used while its measured lag is within maxLagInMs, and that lag is only re-measured
+            // every lagCheckIntervalInMs.
+            delayedEvictions.schedule(
+                    () -> evict(entityName, id),
+                    maxLagInMs + lagCheckIntervalInMs,
+                    TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    private void evict(String entityName, Long id) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(entityName, id);
+        // Natural-id entries are keyed by the old value, which a peer cannot know.
+        cache.evictNaturalIdData(entityName);
+        log.debug("Evicted {}#{} from the second-level cache", entityName, id);
+    }
+}
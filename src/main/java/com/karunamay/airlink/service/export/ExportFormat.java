@@ -0,0 +1,30 @@
+package com.karunamay.airlink.service.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ContentDisposition attachment(String name) {
+        return ContentDisposition.attachment()
+                .filename(name + "-" + LocalDate.now() + "." + extension)
+                .build();
+    }
+}
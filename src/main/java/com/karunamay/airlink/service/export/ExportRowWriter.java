@@ -0,0 +1,84 @@
+package com.karunamay.airlink.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Writes one record per line as it arrives; the CSV columns are the record's components, in declaration order.
+class ExportRowWriter<T extends Record> {
+
+    private final ExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final RecordComponent[] components;
+    private final Writer out;
+
+    ExportRowWriter(Class<T> type, ExportFormat format, ObjectMapper objectMapper, OutputStream out) {
+        this.format = format;
+        this.jsonWriter = objectMapper.writerFor(type);
+        this.components = type.getRecordComponents();
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write(Arrays.stream(components).map(RecordComponent::getName).collect(Collectors.joining(",")));
+            out.write("\r\n");
+        }
+    }
+
+    void write(T row) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            out.write(jsonWriter.writeValueAsString(row));
+            out.write('\n');
+            return;
+        }
+
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(csvField(valueOf(row, components[i])));
+        }
+        out.write("\r\n");
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private static Object valueOf(Record row, RecordComponent component) {
+        try {
+            return component.getAccessor().invoke(row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + component.getName(), e);
+        }
+    }
+
+    // RFC 4180 quoting, and text that a spreadsheet would evaluate as a formula is prefixed with a quote.
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
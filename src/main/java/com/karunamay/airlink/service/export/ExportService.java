@@ -0,0 +1,17 @@
+package com.karunamay.airlink.service.export;
+
+import com.karunamay.airlink.dto.export.ExportFilter;
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.payment.PaymentStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    long exportBookings(ExportFilter filter, BookingStatus status, ExportFormat format, OutputStream out) throws IOException;
+
+    long exportOrders(ExportFilter filter, PaymentStatus status, ExportFormat format, OutputStream out) throws IOException;
+
+    long exportPassengers(ExportFilter filter, BookingStatus status, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,111 @@
+package com.karunamay.airlink.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karunamay.airlink.dto.export.BookingExportRow;
+import com.karunamay.airlink.dto.export.ExportFilter;
+import com.karunamay.airlink.dto.export.OrderExportRow;
+import com.karunamay.airlink.dto.export.PassengerExportRow;
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.payment.PaymentStatus;
+import com.karunamay.airlink.repository.booking.BookingRepository;
+import com.karunamay.airlink.repository.booking.PassengerRepository;
+import com.karunamay.airlink.repository.order.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Read-only transactions: Postgres only honours the fetch size inside one, and with routing enabled they go to a replica.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private final BookingRepository bookingRepository;
+    private final OrderRepository orderRepository;
+    private final PassengerRepository passengerRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.flushEveryRows}")
+    private int flushEveryRows;
+
+    @Override
+    public long exportBookings(
+            ExportFilter filter,
+            BookingStatus status,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        try (Stream<BookingExportRow> rows = bookingRepository.streamForExport(
+                filter.getFlightId(), filter.fromInclusive(), filter.toExclusive(), status
+        )) {
+            return write("bookings", BookingExportRow.class, rows, format, out);
+        }
+    }
+
+    @Override
+    public long exportOrders(
+            ExportFilter filter,
+            PaymentStatus status,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(
+                filter.getFlightId(), filter.fromInclusive(), filter.toExclusive(), status
+        )) {
+            return write("orders", OrderExportRow.class, rows, format, out);
+        }
+    }
+
+    @Override
+    public long exportPassengers(
+            ExportFilter filter,
+            BookingStatus status,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        try (Stream<PassengerExportRow> rows = passengerRepository.streamForExport(
+                filter.getFlightId(), filter.fromInclusive(), filter.toExclusive(), status
+        )) {
+            return write("passengers", PassengerExportRow.class, rows, format, out);
+        }
+    }
+
+    // Flushing every few hundred rows keeps the client receiving data and the response buffer small.
+    private <T extends Record> long write(
+            String name,
+            Class<T> type,
+            Stream<T> rows,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        long start = System.currentTimeMillis();
+        ExportRowWriter<T> writer = new ExportRowWriter<>(type, format, objectMapper, out);
+        writer.writeHeader();
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(iterator.next());
+            if (++count % flushEveryRows == 0) {
+                // Set when the request's export timeout cancels this task.
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export of " + name + " timed out after " + count + " rows");
+                }
+                writer.flush();
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} {} as {} in {}ms", count, name, format, System.currentTimeMillis() - start);
+        return count;
+    }
+}
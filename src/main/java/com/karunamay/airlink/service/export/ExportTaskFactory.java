@@ -0,0 +1,76 @@
+package com.karunamay.airlink.service.export;
+
+import com.karunamay.airlink.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A running export holds one database connection until its last row is written, so exports get their own small
+// pool and are turned away once it is busy, instead of draining the shared connection pool behind slow clients.
+@Component
+@Slf4j
+public class ExportTaskFactory {
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final TaskExecutorAdapter taskExecutor;
+    private final int maxConcurrent;
+    private final long timeoutInMs;
+
+    public ExportTaskFactory(
+            @Value("${app.export.maxConcurrent}") int maxConcurrent,
+            @Value("${app.export.timeoutInSec}") long timeoutInSec
+    ) {
+        this.maxConcurrent = maxConcurrent;
+        this.timeoutInMs = TimeUnit.SECONDS.toMillis(timeoutInSec);
+        this.permits = new Semaphore(maxConcurrent);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.taskExecutor = new TaskExecutorAdapter(executor);
+    }
+
+    public WebAsyncTask<Void> stream(HttpServletResponse response, ExportFormat format, String name, Export export) {
+        if (!permits.tryAcquire()) {
+            log.warn("Export of {} rejected, {} exports already running", name, maxConcurrent);
+            throw new ServiceUnavailableException("Too many exports are running. Please try again shortly.", 30);
+        }
+
+        Callable<Void> task = () -> {
+            try {
+                response.setContentType(format.getMediaType().toString());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, format.attachment(name).toString());
+                export.writeTo(response.getOutputStream());
+                return null;
+            } finally {
+                permits.release();
+            }
+        };
+        return new WebAsyncTask<>(timeoutInMs, taskExecutor, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface Export {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,28 @@
+package com.karunamay.airlink.service.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+
+public enum ManifestFormat {
+
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv"),
+    JSON(MediaType.APPLICATION_JSON, "json");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ManifestFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ContentDisposition attachment(String name) {
+        return ContentDisposition.attachment()
+                .filename(name + "." + extension)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.karunamay.airlink.service.export;
+
+public interface ManifestService {
+
+    byte[] getManifest(Long flightId, ManifestFormat format);
+
+    int pregenerateUpcoming();
+}
@@ -0,0 +1,166 @@
+package com.karunamay.airlink.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karunamay.airlink.dto.export.ManifestEntry;
+import com.karunamay.airlink.dto.export.ManifestHeader;
+import com.karunamay.airlink.exceptions.ResourceNotFoundException;
+import com.karunamay.airlink.repository.booking.PassengerRepository;
+import com.karunamay.airlink.repository.flight.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Manifests are rendered once per version of the flight's bookings and served from memory until that changes.
+// Validating against the database on each read, rather than evicting on local writes, keeps every node correct.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ManifestServiceImpl implements ManifestService {
+
+    // Seats are a row number and a letter (12C), but seat_no is free text, so a seat without a leading row number
+    // sorts after every numbered one instead of failing the whole manifest.
+    private static final Comparator<ManifestEntry> SEAT_ORDER = Comparator
+            .comparingInt((ManifestEntry entry) -> seatRow(entry.seatNo()))
+            .thenComparing(ManifestEntry::seatNo);
+
+    private record Manifest(ManifestHeader header, byte[] csv, byte[] json) {
+    }
+
+    private record CompactManifest(
+            Long flightId,
+            String flightNo,
+            LocalDateTime departureTime,
+            Instant generatedAt,
+            List<String> columns,
+            List<List<Object>> passengers
+    ) {
+    }
+
+    private final PassengerRepository passengerRepository;
+    private final FlightRepository flightRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Manifest> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.manifest.pregenerateHours}")
+    private long pregenerateHours;
+
+    @Value("${app.manifest.cacheMaxEntries}")
+    private int cacheMaxEntries;
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getManifest(Long flightId, ManifestFormat format) {
+        Manifest manifest = current(flightId);
+        return format == ManifestFormat.CSV ? manifest.csv() : manifest.json();
+    }
+
+    @Scheduled(cron = "${app.manifest.pregenerateCron}")
+    public void scheduledRun() {
+        pregenerateUpcoming();
+    }
+
+    @Override
+    public int pregenerateUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        cache.values().removeIf(manifest -> manifest.header().departureTime().isBefore(now));
+
+        List<Long> flightIds = flightRepository.findIdsDepartingBetween(now, now.plusHours(pregenerateHours));
+        int generated = 0;
+        for (Long flightId : flightIds) {
+            try {
+                Manifest before = cache.get(flightId);
+                if (current(flightId) != before) {
+                    generated++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not pregenerate the manifest for flight {}: {}", flightId, e.getMessage());
+            }
+        }
+
+        log.info(
+                "Pregenerated {} of {} manifests departing in the next {}h",
+                generated,
+                flightIds.size(),
+                pregenerateHours
+        );
+        return generated;
+    }
+
+    private Manifest current(Long flightId) {
+        ManifestHeader header = passengerRepository
+                .findManifestHeader(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + flightId));
+
+        Manifest cached = cache.get(flightId);
+        if (cached != null && cached.header().equals(header)) {
+            meterRegistry.counter("airlink.manifest.cache", "result", "hit").increment();
+            return cached;
+        }
+        meterRegistry.counter("airlink.manifest.cache", "result", "miss").increment();
+
+        // The version is read before the rows, so a write landing in between leaves the copy newer than its
+        // version: it is rebuilt on the next read instead of being served stale.
+        List<ManifestEntry> entries = new ArrayList<>(
+                passengerRepository.findManifestEntries(flightId, header.departureTime())
+        );
+        entries.sort(SEAT_ORDER);
+        Manifest manifest = render(header, entries);
+        if (cache.size() < cacheMaxEntries || cache.containsKey(flightId)) {
+            cache.put(flightId, manifest);
+        }
+        log.debug("Generated manifest for flight {} with {} passengers", flightId, entries.size());
+        return manifest;
+    }
+
+    private static int seatRow(String seatNo) {
+        int digits = 0;
+        while (digits < seatNo.length() && seatNo.charAt(digits) >= '0' && seatNo.charAt(digits) <= '9') {
+            digits++;
+        }
+        return digits == 0 ? Integer.MAX_VALUE : Integer.parseInt(seatNo.substring(0, digits));
+    }
+
+    private Manifest render(ManifestHeader header, List<ManifestEntry> entries) {
+        try {
+            ByteArrayOutputStream csv = new ByteArrayOutputStream();
+            ExportRowWriter<ManifestEntry> writer = new ExportRowWriter<>(
+                    ManifestEntry.class, ExportFormat.CSV, objectMapper, csv
+            );
+            writer.writeHeader();
+            for (ManifestEntry entry : entries) {
+                writer.write(entry);
+            }
+            writer.flush();
+
+            // Column names once and one array per passenger, rather than repeating every key on every row.
+            byte[] json = objectMapper.writeValueAsBytes(new CompactManifest(
+                    header.flightId(),
+                    header.flightNo(),
+                    header.departureTime(),
+                    Instant.now(),
+                    ManifestEntry.COLUMNS,
+                    entries.stream().map(ManifestEntry::values).toList()
+            ));
+            return new Manifest(header, csv.toByteArray(), json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -46,7 +46,7 @@ public class AirlineServiceImpl implements AirlineService {
     @Transactional(readOnly = true)
     public AirlineResponseDTO getAirlineByCode(String code) {
         log.info("Fetching airline by code: {}", code);
-        Airline airline = airlineRepository.findByCodeIgnoreCase(code)
+        Airline airline = baseService.findByNaturalId(Airline.class, code.toUpperCase())
                 .orElseThrow(() -> new ResourceNotFoundException("Airline with code " + code + " not found."));
         return airlineMapper.toResponseDTO(airline);
     }
@@ -74,7 +74,7 @@ public class AirlineServiceImpl implements AirlineService {
     public AirlineResponseDTO createAirline(AirlineRequestDTO requestDTO) {
         log.info("Creating new airline with code {} and name {}", requestDTO.getCode(), requestDTO.getName());
 
-        if (airlineRepository.existsByCode(requestDTO.getCode())) {
+        if (airlineRepository.existsByCode(requestDTO.getCode().toUpperCase())) {
             throw new DuplicateResourceException("Airline code " + requestDTO.getCode() + " already exists.");
         }
 
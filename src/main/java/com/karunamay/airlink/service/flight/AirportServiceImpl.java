@@ -34,7 +34,7 @@ public class AirportServiceImpl implements AirportService {
             requestDTO.getName()
         );
 
-        if (airportRepository.existsByCode(requestDTO.getCode())) {
+        if (airportRepository.existsByCode(requestDTO.getCode().toUpperCase())) {
             throw new DuplicateResourceException(
                 "Airport code " + requestDTO.getCode() + " already exists."
             );
@@ -83,8 +83,8 @@ public class AirportServiceImpl implements AirportService {
     @Transactional(readOnly = true)
     public AirportResponseDTO getAirportByCode(String code) {
         log.info("Fetching airport by code: {}", code);
-        Airport airport = airportRepository
-            .findByCodeIgnoreCase(code)
+        Airport airport = baseService
+            .findByNaturalId(Airport.class, code.toUpperCase())
             .orElseThrow(() ->
                 new ResourceNotFoundException(
                     "Airport with code " + code + " not found."
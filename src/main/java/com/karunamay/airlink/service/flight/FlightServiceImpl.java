@@ -9,6 +9,7 @@ import com.karunamay.airlink.mapper.flight.FlightMapper;
 import com.karunamay.airlink.model.flight.Flight;
 import com.karunamay.airlink.repository.flight.FlightRepository;
 import com.karunamay.airlink.service.BaseService;
+import com.karunamay.airlink.service.metrics.FunnelMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +28,7 @@ public class FlightServiceImpl implements FlightService {
     private final FlightRepository flightRepository;
     private final FlightMapper flightMapper;
     private final BaseService baseService;
+    private final FunnelMetrics funnelMetrics;
 
     @Override
     public FlightResponseDTO createFlight(FlightRequestDTO requestDTO) {
@@ -92,10 +94,13 @@ public class FlightServiceImpl implements FlightService {
             Long src, Long dest, LocalDateTime departureTime, Integer seat, Pageable pageable
     ) {
         log.info("Fetching flights by parameter (source, destination, departure time and seat availability)");
+        long start = funnelMetrics.start();
         Page<Flight> flightPage = flightRepository.findAllFlightBySearchParameters(
                 src, dest, departureTime, seat, pageable
         );
-        return flightMapper.toPageResponseDTO(flightPage);
+        PageResponseDTO<FlightResponseDTO> flights = flightMapper.toPageResponseDTO(flightPage);
+        funnelMetrics.recordSearch(start, flightPage.getTotalElements());
+        return flights;
     }
 
     @Override
@@ -0,0 +1,69 @@
+package com.karunamay.airlink.service.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one in oneIn INFO/DEBUG events from the configured logger prefixes; WARN and above always pass.
+// Runs before the event is built, so a dropped call costs a map lookup and an increment.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final AtomicLong NOT_SAMPLED = new AtomicLong();
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private List<String> prefixes = List.of();
+    private int oneIn = 1;
+
+    public void setLoggers(String loggers) {
+        this.prefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+
+    @Override
+    public void start() {
+        if (oneIn < 1) {
+            addError("oneIn must be at least 1, was " + oneIn);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (oneIn == 1 || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Only count calls the logger would otherwise emit, so the kept ratio holds whatever its level is.
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        AtomicLong counter = counters.computeIfAbsent(logger.getName(), this::counterFor);
+        if (counter == NOT_SAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private AtomicLong counterFor(String loggerName) {
+        for (String prefix : prefixes) {
+            if (loggerName.equals(prefix) || loggerName.startsWith(prefix + ".")) {
+                return new AtomicLong();
+            }
+        }
+        return NOT_SAMPLED;
+    }
+}
@@ -0,0 +1,194 @@
+package com.karunamay.airlink.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Search-to-payment funnel and auth meters. Every meter is registered up front with a fixed tag set, so recording
+// is a field read plus an update; with app.metrics.funnel.enabled=false start() skips the clock and every record
+// call returns on the first branch.
+@Component
+@RequiredArgsConstructor
+public class FunnelMetrics {
+
+    public enum SearchResults {
+
+        NONE("0"), FEW("1-10"), MANY("11-100"), BROAD("100+");
+
+        private final String label;
+
+        SearchResults(String label) {
+            this.label = label;
+        }
+    }
+
+    public enum BookingOutcome {CREATED, SEAT_CONFLICT, FAILED}
+
+    public enum Settlement {CONFIRMED, PAYMENT_FAILED, EXPIRED}
+
+    public enum TokenOutcome {VALID, EXPIRED, INVALID}
+
+    private static final Set<String> WEBHOOK_TYPES = Set.of(
+            "checkout.session.completed",
+            "checkout.session.async_payment_succeeded",
+            "checkout.session.async_payment_failed",
+            "checkout.session.expired"
+    );
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.funnel.enabled}")
+    private boolean enabled;
+
+    private final Map<SearchResults, Timer> searchTimers = new EnumMap<>(SearchResults.class);
+    private final Map<BookingOutcome, Timer> bookingTimers = new EnumMap<>(BookingOutcome.class);
+    private final Map<Settlement, Timer> settlementTimers = new EnumMap<>(Settlement.class);
+    private final Map<TokenOutcome, Timer> tokenTimers = new EnumMap<>(TokenOutcome.class);
+    private final Map<String, Timer> webhookLagTimers = new HashMap<>();
+    private Counter revokedTokens;
+    private Counter activeTokens;
+
+    @PostConstruct
+    void register() {
+        if (!enabled) {
+            return;
+        }
+        for (SearchResults results : SearchResults.values()) {
+            searchTimers.put(results, histogram(
+                            "airlink.flight.search",
+                            "Flight search latency by number of matching flights",
+                            Duration.ofMillis(1)
+                    )
+                    .tag("results", results.label)
+                    .register(meterRegistry));
+        }
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            bookingTimers.put(outcome, histogram(
+                            "airlink.booking.create",
+                            "Booking creation latency by outcome",
+                            Duration.ofMillis(1)
+                    )
+                    .tag("outcome", tag(outcome))
+                    .register(meterRegistry));
+        }
+        for (Settlement settlement : Settlement.values()) {
+            settlementTimers.put(settlement, Timer.builder("airlink.booking.settlement")
+                    .description("Time from booking creation to payment confirmation or failure")
+                    .tag("outcome", tag(settlement))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofHours(2))
+                    .register(meterRegistry));
+        }
+        for (TokenOutcome outcome : TokenOutcome.values()) {
+            tokenTimers.put(outcome, histogram(
+                            "airlink.auth.jwt.verify",
+                            "Access token signature and claims verification",
+                            Duration.ofNanos(10_000)
+                    )
+                    .tag("outcome", tag(outcome))
+                    .register(meterRegistry));
+        }
+        for (String type : WEBHOOK_TYPES) {
+            webhookLagTimers.put(type, webhookLag(type));
+        }
+        webhookLagTimers.put("other", webhookLag("other"));
+        revokedTokens = revocationCounter("revoked");
+        activeTokens = revocationCounter("active");
+    }
+
+    // Pass the result to the matching record method; 0 when disabled.
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void recordSearch(long start, long matchingFlights) {
+        if (!enabled) {
+            return;
+        }
+        SearchResults results = matchingFlights == 0 ? SearchResults.NONE
+                : matchingFlights <= 10 ? SearchResults.FEW
+                : matchingFlights <= 100 ? SearchResults.MANY
+                : SearchResults.BROAD;
+        searchTimers.get(results).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBooking(long start, BookingOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        bookingTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSettlement(LocalDateTime bookedAt, Settlement settlement) {
+        if (!enabled || bookedAt == null) {
+            return;
+        }
+        settlementTimers.get(settlement).record(Duration.between(bookedAt, LocalDateTime.now()));
+    }
+
+    public void recordWebhookLag(String eventType, Long eventCreatedEpochSecond) {
+        if (!enabled || eventCreatedEpochSecond == null) {
+            return;
+        }
+        Timer timer = webhookLagTimers.getOrDefault(eventType, webhookLagTimers.get("other"));
+        timer.record(Duration.between(Instant.ofEpochSecond(eventCreatedEpochSecond), Instant.now()));
+    }
+
+    public void recordTokenVerification(long start, TokenOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        tokenTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRevocationCheck(boolean revoked) {
+        if (!enabled) {
+            return;
+        }
+        (revoked ? revokedTokens : activeTokens).increment();
+    }
+
+    private Timer.Builder histogram(String name, String description, Duration minimumExpectedValue) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(minimumExpectedValue)
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    private Timer webhookLag(String type) {
+        return Timer.builder("airlink.payment.webhook.lag")
+                .description("Time from the Stripe event being created to it being processed")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry);
+    }
+
+    private Counter revocationCounter(String outcome) {
+        return Counter.builder("airlink.auth.revocation.checks")
+                .description("Access token revocation lookups by result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
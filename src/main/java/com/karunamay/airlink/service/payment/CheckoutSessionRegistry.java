@@ -0,0 +1,152 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.model.payment.BookingCheckoutSession;
+import com.karunamay.airlink.repository.payment.BookingCheckoutSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// One open checkout session per booking: repeated "Pay" clicks get the same URL until it is about to expire.
+// The table is read on every call rather than cached per node, so a session settled or replaced on one node is
+// never handed out or trusted by another.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CheckoutSessionRegistry {
+
+    private record Entry(String sessionId, String url, Instant expiresAt, long amountInMinorUnits) {
+    }
+
+    private final BookingCheckoutSessionRepository bookingCheckoutSessionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, CompletableFuture<CheckoutSessionDTO>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.payment.checkoutSession.reuseMarginInSec}")
+    private long reuseMarginInSec;
+
+    @Value("${app.payment.checkoutSession.purgeGraceInSec}")
+    private long purgeGraceInSec;
+
+    public CheckoutSessionDTO getOrCreate(Long bookingId, long amountInMinorUnits, Supplier<CheckoutSessionDTO> creator) {
+        Optional<Entry> open = findOpen(bookingId, amountInMinorUnits);
+        if (open.isPresent()) {
+            meterRegistry.counter("airlink.payment.checkout.sessions", "result", "reused").increment();
+            return toDTO(open.get());
+        }
+
+        // Concurrent clicks for the same booking on this instance share a single provider call.
+        CompletableFuture<CheckoutSessionDTO> pending = new CompletableFuture<>();
+        CompletableFuture<CheckoutSessionDTO> existing = inFlight.putIfAbsent(bookingId, pending);
+        if (existing != null) {
+            meterRegistry.counter("airlink.payment.checkout.sessions", "result", "joined").increment();
+            return join(existing);
+        }
+
+        try {
+            CheckoutSessionDTO session = register(bookingId, amountInMinorUnits, creator.get());
+            pending.complete(session);
+            meterRegistry.counter("airlink.payment.checkout.sessions", "result", "created").increment();
+            return session;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(bookingId, pending);
+        }
+    }
+
+    // Only a different registered session makes this one stale. No row means it was never recorded, was settled,
+    // or outlived the purge grace; the caller decides from the booking's own state.
+    public boolean isCurrent(Long bookingId, String sessionId) {
+        return bookingCheckoutSessionRepository
+                .findById(bookingId)
+                .map(session -> session.getSessionId().equals(sessionId))
+                .orElse(true);
+    }
+
+    public void evict(Long bookingId) {
+        bookingCheckoutSessionRepository.deleteById(bookingId);
+    }
+
+    // Rows outlive expiry by a grace window so the provider's expiry event, sent at or after expiresAt, can
+    // still be matched against the booking's current session.
+    @Scheduled(cron = "${app.payment.checkoutSession.purgeCron}")
+    public void purgeExpired() {
+        Instant expiredBefore = Instant.now().minusSeconds(purgeGraceInSec);
+        int purged = bookingCheckoutSessionRepository.deleteExpired(expiredBefore);
+        log.info("Purged {} expired checkout sessions", purged);
+    }
+
+    private Optional<Entry> findOpen(Long bookingId, long amountInMinorUnits) {
+        Instant reusableUntil = Instant.now().plusSeconds(reuseMarginInSec);
+        return bookingCheckoutSessionRepository
+                .findById(bookingId)
+                .map(this::toEntry)
+                .filter(entry -> !entry.expiresAt().isBefore(reusableUntil))
+                .filter(entry -> entry.amountInMinorUnits() == amountInMinorUnits);
+    }
+
+    // Returns whichever session the table holds afterwards: ours, or one another node registered first.
+    private CheckoutSessionDTO register(Long bookingId, long amountInMinorUnits, CheckoutSessionDTO session) {
+        int registered = bookingCheckoutSessionRepository.registerUnlessReusable(
+                bookingId,
+                session.getId(),
+                session.getUrl(),
+                amountInMinorUnits,
+                session.getExpiresAt(),
+                Instant.now().plusSeconds(reuseMarginInSec),
+                LocalDateTime.now()
+        );
+        if (registered > 0) {
+            return session;
+        }
+        meterRegistry.counter("airlink.payment.checkout.sessions", "result", "lost_race").increment();
+        return bookingCheckoutSessionRepository
+                .findById(bookingId)
+                .map(this::toEntry)
+                .map(this::toDTO)
+                .orElse(session);
+    }
+
+    private Entry toEntry(BookingCheckoutSession session) {
+        return new Entry(
+                session.getSessionId(),
+                session.getUrl(),
+                session.getExpiresAt(),
+                session.getAmountInMinorUnits()
+        );
+    }
+
+    private CheckoutSessionDTO join(CompletableFuture<CheckoutSessionDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private CheckoutSessionDTO toDTO(Entry entry) {
+        return CheckoutSessionDTO.builder()
+                .id(entry.sessionId())
+                .url(entry.url())
+                .expiresAt(entry.expiresAt())
+                .build();
+    }
+}
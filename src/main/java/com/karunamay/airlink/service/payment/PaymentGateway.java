@@ -0,0 +1,17 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionRequestDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionStatusDTO;
+import com.stripe.model.Charge;
+
+public interface PaymentGateway {
+
+    CheckoutSessionDTO createCheckoutSession(CheckoutSessionRequestDTO request);
+
+    // Null when the session has no charge to take billing details from.
+    Charge.BillingDetails retrieveBillingDetails(String sessionId);
+
+    CheckoutSessionStatusDTO retrieveSessionStatus(String sessionId);
+
+}
@@ -0,0 +1,268 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.dto.payment.CheckoutSessionStatusDTO;
+import com.karunamay.airlink.exceptions.PaymentGatewayException;
+import com.karunamay.airlink.exceptions.ServiceUnavailableException;
+import com.karunamay.airlink.model.booking.BookingStatus;
+import com.karunamay.airlink.model.payment.PaymentStatus;
+import com.karunamay.airlink.repository.booking.BookingRepository;
+import com.karunamay.airlink.repository.order.OrderRepository;
+import com.stripe.model.Charge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Catches bookings left non-terminal by lost webhooks by asking the provider for their checkout session directly.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationJob {
+
+    private static final List<PaymentStatus> NON_TERMINAL = List.of(PaymentStatus.PENDING, PaymentStatus.IN_PROGRESS);
+
+    public record Report(Map<String, Integer> transitions, int checked, int unchanged, int errors, boolean aborted) {
+    }
+
+    private record Transition(PaymentStatus from, PaymentStatus to) {
+    }
+
+    private record Correction(
+            BookingRepository.ReconciliationView booking,
+            String paymentIntentId,
+            Charge.BillingDetails billing
+    ) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentGateway paymentGateway;
+    private final CheckoutSessionRegistry checkoutSessionRegistry;
+    private final StripePaymentService stripePaymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.payment.reconciliation.batchSize}")
+    private int batchSize;
+
+    @Value("${app.payment.reconciliation.callsPerSecond}")
+    private double callsPerSecond;
+
+    @Value("${app.payment.reconciliation.minAgeInSec}")
+    private long minAgeInSec;
+
+    @Scheduled(cron = "${app.payment.reconciliation.cron}")
+    public void scheduledRun() {
+        reconcile();
+    }
+
+    public Report reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("RECONCILIATION: Previous run still in progress. Skipping.");
+            return new Report(Map.of(), 0, 0, 0, true);
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Report run() {
+        // Recently touched bookings may still have a webhook in flight.
+        LocalDateTime updatedBefore = LocalDateTime.now().minusSeconds(minAgeInSec);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / callsPerSecond);
+        long nextCallNanos = System.nanoTime();
+
+        Map<String, Integer> transitions = new TreeMap<>();
+        int checked = 0;
+        int unchanged = 0;
+        int errors = 0;
+        boolean aborted = false;
+        long afterId = 0L;
+
+        while (!aborted) {
+            List<BookingRepository.ReconciliationView> page = bookingRepository.findReconciliationPage(
+                    NON_TERMINAL,
+                    updatedBefore,
+                    afterId,
+                    PageRequest.ofSize(batchSize)
+            );
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getBookingId();
+
+            Map<Transition, List<Correction>> corrections = new LinkedHashMap<>();
+            for (BookingRepository.ReconciliationView booking : page) {
+                nextCallNanos = pace(nextCallNanos, intervalNanos);
+                CheckoutSessionStatusDTO session;
+                PaymentStatus target;
+                Charge.BillingDetails billing = null;
+                try {
+                    session = paymentGateway.retrieveSessionStatus(booking.getSessionId());
+                    target = targetStatus(session);
+                    // No completion webhook is coming for this booking, so its order is created from the charge.
+                    if (target == PaymentStatus.PAID && booking.getOrderId() == null) {
+                        nextCallNanos = pace(nextCallNanos, intervalNanos);
+                        billing = paymentGateway.retrieveBillingDetails(booking.getSessionId());
+                    }
+                } catch (ServiceUnavailableException e) {
+                    log.warn("RECONCILIATION: Provider unavailable, stopping run early: {}", e.getMessage());
+                    aborted = true;
+                    break;
+                } catch (PaymentGatewayException e) {
+                    log.warn("RECONCILIATION: Could not query session {}: {}", booking.getSessionId(), e.getMessage());
+                    errors++;
+                    continue;
+                }
+                checked++;
+
+                if (target == null || target == booking.getPaymentStatus()) {
+                    unchanged++;
+                    continue;
+                }
+                corrections
+                        .computeIfAbsent(new Transition(booking.getPaymentStatus(), target), key -> new ArrayList<>())
+                        .add(new Correction(booking, session.getPaymentIntentId(), billing));
+            }
+
+            for (Map.Entry<Transition, List<Correction>> correction : corrections.entrySet()) {
+                int applied = apply(correction.getKey(), correction.getValue());
+                if (applied > 0) {
+                    transitions.merge(correction.getKey().from() + "->" + correction.getKey().to(), applied, Integer::sum);
+                }
+                // Bookings a webhook settled between the provider query and the update.
+                unchanged += correction.getValue().size() - applied;
+            }
+        }
+
+        transitions.forEach((transition, count) -> {
+            String[] states = transition.split("->");
+            meterRegistry.counter(
+                    "airlink.payment.reconciliation.transitions",
+                    "from", states[0],
+                    "to", states[1]
+            ).increment(count);
+        });
+        meterRegistry.counter("airlink.payment.reconciliation.unchanged").increment(unchanged);
+
+        Report report = new Report(transitions, checked, unchanged, errors, aborted);
+        log.info(
+                "RECONCILIATION: Checked {} bookings, {} unchanged, {} errors{}. Transitions: {}",
+                checked,
+                unchanged,
+                errors,
+                aborted ? ", aborted" : "",
+                transitions
+        );
+        return report;
+    }
+
+    // Returns how many bookings the guarded updates actually moved; the expected status is the one observed, so a
+    // booking changed by a webhook in the meantime is left alone.
+    private int apply(Transition transition, List<Correction> corrections) {
+        boolean paid = transition.to() == PaymentStatus.PAID;
+        Map<Boolean, List<Correction>> needsOrder = corrections.stream()
+                .collect(Collectors.partitioningBy(correction -> paid && correction.booking().getOrderId() == null));
+        List<Long> moved = new ArrayList<>(updateStatuses(transition, needsOrder.get(false)));
+
+        for (Correction correction : needsOrder.get(true)) {
+            Long bookingId = correction.booking().getBookingId();
+            try {
+                boolean confirmed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                        !bookingRepository.lockIdsWithPaymentStatus(List.of(bookingId), List.of(transition.from())).isEmpty()
+                                && stripePaymentService.confirmWithOrder(
+                                        bookingId,
+                                        correction.booking().getSessionId(),
+                                        correction.paymentIntentId(),
+                                        correction.billing()
+                                )
+                ));
+                if (confirmed) {
+                    moved.add(bookingId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("RECONCILIATION: Could not create the order of booking {}: {}", bookingId, e.getMessage());
+            }
+        }
+
+        if (paid) {
+            moved.forEach(checkoutSessionRegistry::evict);
+        }
+        return moved.size();
+    }
+
+    private List<Long> updateStatuses(Transition transition, List<Correction> corrections) {
+        if (corrections.isEmpty()) {
+            return List.of();
+        }
+        List<Long> bookingIds = corrections.stream().map(correction -> correction.booking().getBookingId()).toList();
+        BookingStatus bookingStatus = transition.to() == PaymentStatus.PAID ? BookingStatus.CONFIRMED : BookingStatus.PENDING;
+        LocalDateTime now = LocalDateTime.now();
+
+        return transactionTemplate.execute(status -> {
+            List<Long> locked = bookingRepository.lockIdsWithPaymentStatus(bookingIds, List.of(transition.from()));
+            if (locked.isEmpty()) {
+                return List.<Long>of();
+            }
+            bookingRepository.updateStatuses(locked, List.of(transition.from()), bookingStatus, transition.to(), now);
+
+            Set<Long> lockedIds = new HashSet<>(locked);
+            List<Long> orderIds = corrections.stream()
+                    .map(Correction::booking)
+                    .filter(booking -> lockedIds.contains(booking.getBookingId()))
+                    .map(BookingRepository.ReconciliationView::getOrderId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!orderIds.isEmpty()) {
+                orderRepository.updatePaymentStatus(orderIds, NON_TERMINAL, transition.to(), now);
+            }
+            return locked;
+        });
+    }
+
+    private PaymentStatus targetStatus(CheckoutSessionStatusDTO session) {
+        if ("paid".equals(session.getPaymentStatus()) || "no_payment_required".equals(session.getPaymentStatus())) {
+            return PaymentStatus.PAID;
+        }
+        if ("expired".equals(session.getStatus())) {
+            return PaymentStatus.FAILED;
+        }
+        if ("complete".equals(session.getStatus())) {
+            // Completed but unpaid: an async payment method is settling unless its payment intent already failed.
+            String paymentIntentStatus = session.getPaymentIntentStatus();
+            if ("requires_payment_method".equals(paymentIntentStatus) || "canceled".equals(paymentIntentStatus)) {
+                return PaymentStatus.FAILED;
+            }
+            if ("succeeded".equals(paymentIntentStatus)) {
+                return PaymentStatus.PAID;
+            }
+        }
+        return null;
+    }
+
+    private long pace(long nextCallNanos, long intervalNanos) {
+        long wait = nextCallNanos - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return Math.max(nextCallNanos, System.nanoTime()) + intervalNanos;
+    }
+}
@@ -0,0 +1,191 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionRequestDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionStatusDTO;
+import com.karunamay.airlink.exceptions.PaymentGatewayException;
+import com.karunamay.airlink.exceptions.ServiceUnavailableException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Charge;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outbound provider calls run on their own bounded pool, so a slow provider ties up these threads and
+// not request threads or database connections; once the breaker opens, callers fail fast with a 503.
+@Component
+@Primary
+@Slf4j
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    private final PaymentGateway delegate;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final long callTimeoutInMs;
+
+    public ResilientPaymentGateway(
+            @Qualifier("providerPaymentGateway") PaymentGateway delegate,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            @Value("${app.payment.bulkhead.poolSize}") int poolSize,
+            @Value("${app.payment.bulkhead.queueCapacity}") int queueCapacity,
+            @Value("${app.payment.bulkhead.callTimeoutInMs}") long callTimeoutInMs,
+            @Value("${app.payment.circuitBreaker.windowSize}") int windowSize,
+            @Value("${app.payment.circuitBreaker.minimumCalls}") int minimumCalls,
+            @Value("${app.payment.circuitBreaker.failureRateThreshold}") double failureRateThreshold,
+            @Value("${app.payment.circuitBreaker.openDurationInSec}") long openDurationInSec
+    ) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.callTimeoutInMs = callTimeoutInMs;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationInSec);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-gateway-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("airlink.payment.gateway.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Payment provider calls currently executing")
+                .register(meterRegistry);
+        Gauge.builder("airlink.payment.gateway.pool.queued", executor, e -> e.getQueue().size())
+                .description("Payment provider calls waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("airlink.payment.gateway.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Payment provider circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+
+        log.info(
+                "Payment gateway bulkhead started with {} threads, queue capacity {}, call timeout {}ms",
+                poolSize,
+                queueCapacity,
+                callTimeoutInMs
+        );
+    }
+
+    @Override
+    public CheckoutSessionDTO createCheckoutSession(CheckoutSessionRequestDTO request) {
+        return call("create_checkout_session", () -> delegate.createCheckoutSession(request));
+    }
+
+    @Override
+    public Charge.BillingDetails retrieveBillingDetails(String sessionId) {
+        return call("retrieve_billing_details", () -> delegate.retrieveBillingDetails(sessionId));
+    }
+
+    @Override
+    public CheckoutSessionStatusDTO retrieveSessionStatus(String sessionId) {
+        return call("retrieve_session_status", () -> delegate.retrieveSessionStatus(sessionId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // The span covers breaker, queue wait and the provider round-trip; the task carries it onto the pool thread.
+    private <T> T call(String operation, Callable<T> task) {
+        return Observation.createNotStarted("airlink.payment.provider", observationRegistry)
+                .contextualName("payment-provider " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(() -> callProvider(operation, contextSnapshotFactory.captureAll().wrap(task)));
+    }
+
+    private <T> T callProvider(String operation, Callable<T> task) {
+        long now = System.nanoTime();
+        if (!circuitBreaker.tryAcquire(now)) {
+            count(operation, "circuit_open");
+            throw new ServiceUnavailableException(
+                    "Payment provider is temporarily unavailable. Please try again shortly.",
+                    circuitBreaker.secondsUntilRetry(now)
+            );
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.release();
+            count(operation, "bulkhead_full");
+            log.warn("Payment gateway pool saturated, queue depth {}", executor.getQueue().size());
+            throw new ServiceUnavailableException("Payment provider is busy. Please try again shortly.", 1, e);
+        }
+
+        try {
+            T result = future.get(callTimeoutInMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            count(operation, "success");
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure(System.nanoTime());
+            count(operation, "timeout");
+            throw new PaymentGatewayException("Payment provider did not respond in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.release();
+            throw new ServiceUnavailableException("Request was interrupted. Please try again.", 1, e);
+        } catch (ExecutionException e) {
+            if (isProviderFault(e.getCause())) {
+                circuitBreaker.onFailure(System.nanoTime());
+                count(operation, "failure");
+            } else {
+                // The provider answered and refused the request itself; that says nothing about its health.
+                circuitBreaker.onSuccess();
+                count(operation, "rejected");
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PaymentGatewayException("Payment provider call failed", e.getCause());
+        }
+    }
+
+    // Only connection failures, rate limiting and 5xx responses count against the provider. Stripe 4xx errors
+    // such as declined cards or invalid requests come from the caller's input and must not open the breaker.
+    static boolean isProviderFault(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof ApiConnectionException || cause instanceof RateLimitException) {
+                return true;
+            }
+            if (cause instanceof StripeException stripeException) {
+                Integer statusCode = stripeException.getStatusCode();
+                return statusCode == null || statusCode >= 500;
+            }
+        }
+        return true;
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("airlink.payment.gateway.calls", "operation", operation, "outcome", outcome).increment();
+    }
+}
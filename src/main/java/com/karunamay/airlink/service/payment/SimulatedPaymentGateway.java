@@ -0,0 +1,288 @@
+package com.karunamay.airlink.service.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karunamay.airlink.config.PaymentSimulatorProperties;
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionRequestDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionStatusDTO;
+import com.karunamay.airlink.exceptions.PaymentGatewayException;
+import com.stripe.Stripe;
+import com.stripe.model.Address;
+import com.stripe.model.Charge;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stands in for Stripe when load-testing: sessions are kept in memory and every session is paid (or failed)
+// automatically, with Stripe-shaped events signed by app.stripe.webhookSecret and posted to our own webhook.
+@Component
+@Qualifier("providerPaymentGateway")
+@ConditionalOnProperty(prefix = "app.payment", name = "gateway", havingValue = "simulator")
+@Slf4j
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final PaymentSimulatorProperties properties;
+    private final ObjectMapper objectMapper;
+    private final String webhookSecret;
+    private final Map<String, CheckoutSessionRequestDTO> sessions = new ConcurrentHashMap<>();
+    private final Map<String, CheckoutSessionStatusDTO> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong nextDeliverySlotNanos = new AtomicLong(System.nanoTime());
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient httpClient;
+
+    public SimulatedPaymentGateway(
+            PaymentSimulatorProperties properties,
+            ObjectMapper objectMapper,
+            @Value("${app.stripe.webhookSecret}") String webhookSecret
+    ) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.webhookSecret = webhookSecret;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(properties.getPoolSize(), runnable -> {
+            Thread thread = new Thread(runnable, "payment-simulator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(scheduler)
+                .build();
+
+        log.warn("Payment simulator enabled; no requests will reach Stripe. Webhooks go to {}", properties.getWebhookUrl());
+    }
+
+    @Override
+    public CheckoutSessionDTO createCheckoutSession(CheckoutSessionRequestDTO request) {
+        sleep(properties.getCreateLatencyInMs());
+        if (ThreadLocalRandom.current().nextDouble() < properties.getCreateFailureRate()) {
+            throw new PaymentGatewayException("Simulated failure creating checkout session");
+        }
+
+        String sessionId = "cs_sim_" + UUID.randomUUID().toString().replace("-", "");
+        sessions.put(sessionId, request);
+        statuses.put(sessionId, status(sessionId, "open", "unpaid"));
+        scheduler.schedule(
+                () -> {
+                    sessions.remove(sessionId);
+                    statuses.remove(sessionId);
+                },
+                properties.getSessionTtlInSec(),
+                TimeUnit.SECONDS
+        );
+
+        boolean paymentFails = ThreadLocalRandom.current().nextDouble() < properties.getPaymentFailureRate();
+        scheduler.schedule(
+                () -> complete(sessionId, paymentFails),
+                properties.getCompletionDelayInMs(),
+                TimeUnit.MILLISECONDS
+        );
+
+        return CheckoutSessionDTO.builder()
+                .id(sessionId)
+                .url(properties.getCheckoutBaseUrl() + "/" + sessionId)
+                .expiresAt(Instant.now().plusSeconds(properties.getSessionTtlInSec()))
+                .build();
+    }
+
+    @Override
+    public Charge.BillingDetails retrieveBillingDetails(String sessionId) {
+        if (!sessions.containsKey(sessionId)) {
+            throw new PaymentGatewayException("Unknown simulated checkout session " + sessionId);
+        }
+        sleep(properties.getCreateLatencyInMs());
+
+        Address address = new Address();
+        address.setLine1("1 Simulator Road");
+        address.setCity("Bengaluru");
+        address.setState("Karnataka");
+        address.setPostalCode("560001");
+        address.setCountry("IN");
+
+        Charge.BillingDetails billing = new Charge.BillingDetails();
+        billing.setName("Simulated Customer");
+        billing.setEmail("customer@simulator.airlink");
+        billing.setAddress(address);
+        return billing;
+    }
+
+    @Override
+    public CheckoutSessionStatusDTO retrieveSessionStatus(String sessionId) {
+        sleep(properties.getCreateLatencyInMs());
+        return statuses.getOrDefault(sessionId, status(sessionId, "expired", "unpaid"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void complete(String sessionId, boolean paymentFails) {
+        CheckoutSessionRequestDTO request = sessions.get(sessionId);
+        if (request == null) {
+            return;
+        }
+
+        String paymentIntentId = "pi_sim_" + UUID.randomUUID().toString().replace("-", "");
+        CheckoutSessionStatusDTO completed = status(sessionId, "complete", paymentFails ? "unpaid" : "paid");
+        completed.setPaymentIntentStatus(paymentFails ? "requires_payment_method" : "succeeded");
+        completed.setPaymentIntentId(paymentIntentId);
+        statuses.put(sessionId, completed);
+        if (paymentFails) {
+            String failed = event("checkout.session.async_payment_failed", sessionId, paymentIntentId, request, "unpaid");
+            deliver(
+                    event("checkout.session.completed", sessionId, paymentIntentId, request, "unpaid"),
+                    0,
+                    () -> deliver(failed, 0, null)
+            );
+        } else {
+            deliver(event("checkout.session.completed", sessionId, paymentIntentId, request, "paid"), 0, null);
+        }
+    }
+
+    private CheckoutSessionStatusDTO status(String sessionId, String status, String paymentStatus) {
+        return CheckoutSessionStatusDTO.builder()
+                .sessionId(sessionId)
+                .status(status)
+                .paymentStatus(paymentStatus)
+                .build();
+    }
+
+    private String event(
+            String type,
+            String sessionId,
+            String paymentIntentId,
+            CheckoutSessionRequestDTO request,
+            String paymentStatus
+    ) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("line1", "1 Simulator Road");
+        address.put("line2", null);
+        address.put("city", "Bengaluru");
+        address.put("state", "Karnataka");
+        address.put("postal_code", "560001");
+        address.put("country", "IN");
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("id", sessionId);
+        session.put("object", "checkout.session");
+        session.put("amount_total", request.getAmountInMinorUnits());
+        session.put("currency", request.getCurrency());
+        session.put("customer", "cus_sim_" + request.getUserId());
+        session.put("customer_details", Map.of(
+                "name", "Simulated Customer",
+                "email", "customer@simulator.airlink",
+                "address", address
+        ));
+        session.put("metadata", Map.of(
+                "bookingId", request.getBookingId().toString(),
+                "userId", request.getUserId().toString()
+        ));
+        session.put("mode", "payment");
+        session.put("payment_intent", paymentIntentId);
+        session.put("payment_status", paymentStatus);
+        session.put("status", "complete");
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", "evt_sim_" + UUID.randomUUID().toString().replace("-", ""));
+        event.put("object", "event");
+        // The SDK only deserializes data.object when the event's api_version matches its own.
+        event.put("api_version", Stripe.API_VERSION);
+        event.put("created", Instant.now().getEpochSecond());
+        event.put("livemode", false);
+        event.put("pending_webhooks", 1);
+        event.put("type", type);
+        event.put("data", Map.of("object", session));
+
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize simulated event", e);
+        }
+    }
+
+    // Follow-up events are only sent once their predecessor was accepted, as Stripe does for one session.
+    private void deliver(String payload, int attempt, Runnable onDelivered) {
+        scheduler.schedule(() -> post(payload, attempt, onDelivered), reserveDeliverySlot(), TimeUnit.NANOSECONDS);
+    }
+
+    private void post(String payload, int attempt, Runnable onDelivered) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getWebhookUrl()))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("Stripe-Signature", sign(payload))
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            boolean delivered = error == null && response.statusCode() / 100 == 2;
+            if (delivered) {
+                if (onDelivered != null) {
+                    onDelivered.run();
+                }
+                if (ThreadLocalRandom.current().nextDouble() < properties.getRedeliveryRate()) {
+                    deliver(payload, properties.getDeliveryRetries(), null);
+                }
+            } else if (attempt < properties.getDeliveryRetries()) {
+                log.debug("Simulated webhook delivery failed (attempt {}), retrying", attempt + 1);
+                deliver(payload, attempt + 1, onDelivered);
+            } else {
+                log.warn("Simulated webhook dropped after {} attempts", attempt + 1);
+            }
+        });
+    }
+
+    // Spaces deliveries evenly so the webhook endpoint sees at most webhookRatePerSec requests per second.
+    private long reserveDeliverySlot() {
+        long interval = (long) (1_000_000_000L / properties.getWebhookRatePerSec());
+        long now = System.nanoTime();
+        long slot = nextDeliverySlotNanos.accumulateAndGet(now, (next, current) -> Math.max(next, current) + interval);
+        return Math.max(0, slot - interval - now);
+    }
+
+    private String sign(String payload) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not sign simulated webhook", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while simulating latency", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionRequestDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionStatusDTO;
+import com.karunamay.airlink.exceptions.PaymentGatewayException;
+import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Charge;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionRetrieveParams;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+@Qualifier("providerPaymentGateway")
+@ConditionalOnProperty(prefix = "app.payment", name = "gateway", havingValue = "stripe", matchIfMissing = true)
+@Slf4j
+public class StripePaymentGateway implements PaymentGateway {
+
+    @Value("${app.stripe.successUrl}")
+    private String successUrl;
+
+    @Value("${app.stripe.cancelUrl}")
+    private String cancelUrl;
+
+    @Value("${app.payment.bulkhead.callTimeoutInMs}")
+    private int callTimeoutInMs;
+
+    // The SDK defaults to an 80s read timeout; keep the socket from outliving the bulkhead's own timeout.
+    @PostConstruct
+    public void configureTimeouts() {
+        Stripe.setConnectTimeout(Math.min(callTimeoutInMs, 5000));
+        Stripe.setReadTimeout(callTimeoutInMs);
+    }
+
+    @Override
+    public CheckoutSessionDTO createCheckoutSession(CheckoutSessionRequestDTO request) {
+        SessionCreateParams params = SessionCreateParams.builder()
+                .addAllExpand(List.of("customer", "payment_intent"))
+                .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl(successUrl + "/?session_id={CHECKOUT_SESSION_ID}")
+                .setCancelUrl(cancelUrl + "/?session_id={CHECKOUT_SESSION_ID}")
+                .setBillingAddressCollection(
+                        SessionCreateParams.BillingAddressCollection.REQUIRED
+                )
+                .setCustomerCreation(SessionCreateParams.CustomerCreation.ALWAYS)
+                .setNameCollection(
+                        SessionCreateParams.NameCollection.builder()
+                                .setIndividual(
+                                        SessionCreateParams.NameCollection.Individual.builder()
+                                                .setEnabled(true)
+                                                .setOptional(false)
+                                                .build()
+                                )
+                                .build()
+                )
+                .addLineItem(
+                        SessionCreateParams.LineItem.builder()
+                                .setPriceData(
+                                        SessionCreateParams.LineItem.PriceData.builder()
+                                                .setCurrency(request.getCurrency())
+                                                .setUnitAmount(request.getAmountInMinorUnits())
+                                                .setProductData(
+                                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                                                                .setName(request.getProductName())
+                                                                .build()
+                                                )
+                                                .build()
+                                )
+                                .setQuantity(1L)
+                                .build()
+                )
+                .putMetadata("userId", request.getUserId().toString())
+                .putMetadata("bookingId", request.getBookingId().toString())
+                .build();
+
+        try {
+            Session session = Session.create(params);
+            return CheckoutSessionDTO.builder()
+                    .id(session.getId())
+                    .url(session.getUrl())
+                    .expiresAt(Instant.ofEpochSecond(session.getExpiresAt()))
+                    .build();
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error creating checkout session", e);
+        }
+    }
+
+    @Override
+    public Charge.BillingDetails retrieveBillingDetails(String sessionId) {
+        SessionRetrieveParams params = SessionRetrieveParams.builder()
+                .addExpand("payment_intent.latest_charge")
+                .build();
+
+        try {
+            // No payment intent (no_payment_required) or no charge yet (some async methods) means no billing details.
+            PaymentIntent paymentIntent = Session.retrieve(sessionId, params, null).getPaymentIntentObject();
+            if (paymentIntent == null || paymentIntent.getLatestChargeObject() == null) {
+                return null;
+            }
+            return paymentIntent.getLatestChargeObject().getBillingDetails();
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error retrieving checkout session " + sessionId, e);
+        }
+    }
+
+    @Override
+    public CheckoutSessionStatusDTO retrieveSessionStatus(String sessionId) {
+        SessionRetrieveParams params = SessionRetrieveParams.builder()
+                .addExpand("payment_intent")
+                .build();
+
+        try {
+            Session session = Session.retrieve(sessionId, params, null);
+            PaymentIntent paymentIntent = session.getPaymentIntentObject();
+            return CheckoutSessionStatusDTO.builder()
+                    .sessionId(session.getId())
+                    .status(session.getStatus())
+                    .paymentStatus(session.getPaymentStatus())
+                    .paymentIntentStatus(paymentIntent != null ? paymentIntent.getStatus() : null)
+                    .paymentIntentId(session.getPaymentIntent())
+                    .build();
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error retrieving checkout session " + sessionId, e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.karunamay.airlink.service.payment;
 
+import com.karunamay.airlink.config.ReadYourWritesTracker;
+import com.karunamay.airlink.dto.payment.CheckoutSessionDTO;
+import com.karunamay.airlink.dto.payment.CheckoutSessionRequestDTO;
 import com.karunamay.airlink.dto.payment.PaymentInitRequestDTO;
 import com.karunamay.airlink.exceptions.BusinessException;
+import com.karunamay.airlink.exceptions.InvalidWebhookEventException;
 import com.karunamay.airlink.exceptions.ResourceNotFoundException;
 import com.karunamay.airlink.model.booking.Booking;
 import com.karunamay.airlink.model.booking.BookingStatus;
@@ -10,22 +14,27 @@ import com.karunamay.airlink.model.payment.PaymentStatus;
 import com.karunamay.airlink.model.user.User;
 import com.karunamay.airlink.repository.booking.BookingRepository;
 import com.karunamay.airlink.repository.order.OrderRepository;
+import com.karunamay.airlink.repository.payment.StripeWebhookEventRepository;
 import com.karunamay.airlink.repository.user.UserRepository;
 import com.karunamay.airlink.service.BaseService;
-import com.stripe.exception.StripeException;
+import com.karunamay.airlink.service.metrics.FunnelMetrics;
+import com.karunamay.airlink.service.tracing.TraceParentCarrier;
 import com.stripe.model.*;
 import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
-import com.stripe.param.checkout.SessionCreateParams;
-import com.stripe.param.checkout.SessionRetrieveParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 
@@ -39,79 +48,51 @@ public class StripePaymentService {
 
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final StripeWebhookEventRepository stripeWebhookEventRepository;
     private final BaseService baseService;
-
-    @Value("${app.stripe.secretKey}")
-    private String stripeApiKey;
-
-    @Value("${app.stripe.successUrl}")
-    private String successUrl;
-
-    @Value("${app.stripe.cancelUrl}")
-    private String cancelUrl;
+    private final PaymentGateway paymentGateway;
+    private final CheckoutSessionRegistry checkoutSessionRegistry;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final PlatformTransactionManager transactionManager;
+    private final FunnelMetrics funnelMetrics;
+    private final TraceParentCarrier traceParentCarrier;
 
     @Value("${app.stripe.webhookSecret}")
     private String webhookSecret;
 
-    @Transactional(readOnly = true)
-    public Session createPaymentSession(PaymentInitRequestDTO requestDTO) {
-        Booking booking = bookingRepository
-                .findById(requestDTO.getBookingId())
-                .orElseThrow(() ->
-                        new ResourceNotFoundException(
-                                "Booking with id " +
-                                        requestDTO.getBookingId() +
-                                        " not found"
-                        )
-                );
-
-        Long amount = booking.getTotalAmount().multiply(BigDecimal.valueOf(100)).longValueExact();
-
-        SessionCreateParams params = SessionCreateParams.builder()
-                .addAllExpand(List.of("customer", "payment_intent"))
-                .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
-                .setMode(SessionCreateParams.Mode.PAYMENT)
-                .setSuccessUrl(successUrl + "/?session_id={CHECKOUT_SESSION_ID}")
-                .setCancelUrl(cancelUrl + "/?session_id={CHECKOUT_SESSION_ID}")
-                .setBillingAddressCollection(
-                        SessionCreateParams.BillingAddressCollection.REQUIRED
-                )
-                .setCustomerCreation(SessionCreateParams.CustomerCreation.ALWAYS)
-                .setNameCollection(
-                        SessionCreateParams.NameCollection.builder()
-                                .setIndividual(
-                                        SessionCreateParams.NameCollection.Individual.builder()
-                                                .setEnabled(true)
-                                                .setOptional(false)
-                                                .build()
-                                )
-                                .build()
-                )
-                .addLineItem(
-                        SessionCreateParams.LineItem.builder()
-                                .setPriceData(
-                                        SessionCreateParams.LineItem.PriceData.builder()
-                                                .setCurrency("inr")
-                                                .setUnitAmount(amount)
-                                                .setProductData(
-                                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
-                                                                .setName(booking.getFlightRoute())
-                                                                .build()
-                                                )
-                                                .build()
-                                )
-                                .setQuantity(1L)
-                                .build()
-                )
-                .putMetadata("userId", requestDTO.getUserId().toString())
-                .putMetadata("bookingId", requestDTO.getBookingId().toString())
-                .build();
-
-        try {
-            return Session.create(params);
-        } catch (StripeException e) {
-            throw new RuntimeException("Error creating checkout session", e);
-        }
+    // Runs outside any transaction: only the booking read holds a connection, never the provider round-trip.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CheckoutSessionDTO createPaymentSession(PaymentInitRequestDTO requestDTO) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        CheckoutSessionRequestDTO request = readOnlyTransaction.execute(status -> {
+            Booking booking = bookingRepository
+                    .findById(requestDTO.getBookingId())
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException(
+                                    "Booking with id " +
+                                            requestDTO.getBookingId() +
+                                            " not found"
+                            )
+                    );
+
+            Long amount = booking.getTotalAmount().multiply(BigDecimal.valueOf(100)).longValueExact();
+
+            return CheckoutSessionRequestDTO.builder()
+                    .bookingId(requestDTO.getBookingId())
+                    .userId(requestDTO.getUserId())
+                    .productName(booking.getFlightRoute())
+                    .amountInMinorUnits(amount)
+                    .currency("inr")
+                    .build();
+        });
+
+        return checkoutSessionRegistry.getOrCreate(
+                request.getBookingId(),
+                request.getAmountInMinorUnits(),
+                () -> paymentGateway.createCheckoutSession(request)
+        );
     }
 
     @Transactional
@@ -129,70 +110,82 @@ public class StripePaymentService {
             return "Invalid signature";
         }
 
+        Long bookingId = event.getDataObjectDeserializer()
+                .getObject()
+                .filter(Session.class::isInstance)
+                .map(stripeObject -> ((Session) stripeObject).getMetadata())
+                .map(metadata -> metadata.get("bookingId"))
+                .map(StripePaymentService::parseBookingId)
+                .orElse(null);
+
+        int inserted = stripeWebhookEventRepository.insertIfAbsent(
+                event.getId(),
+                event.getType(),
+                bookingId,
+                payload,
+                traceParentCarrier.current(),
+                LocalDateTime.now()
+        );
+        if (inserted == 0) {
+            log.info("WEBHOOK: Duplicate delivery of event ID: {}. Already in inbox.", event.getId());
+        } else {
+            log.info("WEBHOOK: Queued event ID: {} for booking {}", event.getId(), bookingId);
+        }
+        return "";
+    }
+
+    @Transactional
+    public void processWebhookEvent(Event event) {
+        log.info("WEBHOOK: Processing event ID: {}, Type: {}", event.getId(), event.getType());
+
         Optional<StripeObject> eventDeserializeObject = event.getDataObjectDeserializer().getObject();
 
-        try {
-            if (eventDeserializeObject.isPresent()) {
-                StripeObject stripeObject = eventDeserializeObject.get();
-
-                if (stripeObject instanceof Session sessionObject) {
-                    log.info("WEBHOOK: Handling Checkout Session event. Session ID: {}, Event Type: {}", sessionObject.getId(), event.getType());
-
-                    SessionRetrieveParams params = SessionRetrieveParams.builder()
-                            .addExpand("customer")
-                            .addExpand("payment_intent")
-                            .addExpand("payment_intent.latest_charge")
-                            .addExpand("payment_intent.latest_charge.billing_details")
-                            .addExpand("customer")
-                            .addExpand("customer.address")
-                            .addExpand("customer.shipping")
-                            .addExpand("customer.tax")
-                            .addExpand("customer.default_source")
-                            .addExpand("customer.invoice_settings.default_payment_method")
-                            .build();
-
-
-                    Session session = Session.retrieve(sessionObject.getId(), params, null);
-
-                    switch (event.getType()) {
-                        case "checkout.session.completed": {
-                            log.info("WEBHOOK: Matched event type 'checkout.session.completed'. Calling handleSessionCompleted...");
-                            handleSessionCompleted(session);
-                            break;
-                        }
-                        case "checkout.session.async_payment_succeeded": {
-                            log.info("WEBHOOK: Matched event type 'checkout.session.async_payment_succeeded'. Calling handleAsyncPaymentSucceeded...");
-                            handleAsyncPaymentSucceeded(session);
-                            break;
-                        }
-                        case "checkout.session.async_payment_failed",
-                             "checkout.session.expired": {
-                            log.warn("WEBHOOK: Matched event type '{}'. Calling handleAsyncPaymentFailed...", event.getType());
-                            handleAsyncPaymentFailed(session);
-                            break;
-                        }
-                        default: {
-                            log.info("WEBHOOK: Unhandled event type: {}. Skipping processing.", event.getType());
-                            break;
-                        }
+        if (eventDeserializeObject.isPresent()) {
+            StripeObject stripeObject = eventDeserializeObject.get();
+
+            if (stripeObject instanceof Session session) {
+                log.info("WEBHOOK: Handling Checkout Session event. Session ID: {}, Event Type: {}", session.getId(), event.getType());
+
+                switch (event.getType()) {
+                    case "checkout.session.completed": {
+                        log.info("WEBHOOK: Matched event type 'checkout.session.completed'. Calling handleSessionCompleted...");
+                        handleSessionCompleted(session);
+                        break;
+                    }
+                    case "checkout.session.async_payment_succeeded": {
+                        log.info("WEBHOOK: Matched event type 'checkout.session.async_payment_succeeded'. Calling handleAsyncPaymentSucceeded...");
+                        handleAsyncPaymentSucceeded(session);
+                        break;
+                    }
+                    case "checkout.session.async_payment_failed": {
+                        log.warn("WEBHOOK: Matched event type '{}'. Calling handleAsyncPaymentFailed...", event.getType());
+                        handleAsyncPaymentFailed(session, FunnelMetrics.Settlement.PAYMENT_FAILED);
+                        break;
+                    }
+                    case "checkout.session.expired": {
+                        log.warn("WEBHOOK: Matched event type '{}'. Calling handleSessionExpired...", event.getType());
+                        handleSessionExpired(session);
+                        break;
+                    }
+                    default: {
+                        log.info("WEBHOOK: Unhandled event type: {}. Skipping processing.", event.getType());
+                        break;
                     }
-                } else {
-                    log.warn("WEBHOOK: Deserialized object is not a Session. Skipping processing");
                 }
             } else {
-                log.warn("WEBHOOK: Could not deserialize event data object. Skipping processing.");
+                log.warn("WEBHOOK: Deserialized object is not a Session. Skipping processing");
             }
-        } catch (StripeException e) {
-            throw new BusinessException("Payment failed. Please try again");
+        } else {
+            log.warn("WEBHOOK: Could not deserialize event data object. Skipping processing.");
         }
+        funnelMetrics.recordWebhookLag(event.getType(), event.getCreated());
         log.info("WEBHOOK: Finished processing for event ID: {}", event.getId());
-        return "";
     }
 
     private void handleSessionCompleted(Session session) {
         log.info("COMPLETED_HANDLER: Starting for Session ID: {}", session.getId());
 
-        String bookingId = session.getMetadata().get("bookingId");
+        Long bookingId = bookingIdOf(session);
         String userId = session.getMetadata().get("userId");
 
         log.debug("COMPLETED_HANDLER: Extracted metadata. bookingId: {}, userId: {}", bookingId, userId);
@@ -209,51 +202,33 @@ public class StripePaymentService {
                 });
         log.info("COMPLETED_HANDLER: User (ID: {}) found.", user.getId());
 
-        Booking booking = bookingRepository.findById(Long.valueOf(bookingId))
+        Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> {
                     log.error("COMPLETED_HANDLER: Booking with ID {} not found for session {}", bookingId, session.getId());
                     return new BusinessException("Invalid or unknown booking with this session");
                 });
         log.info("COMPLETED_HANDLER: Booking (ID: {}) found.", booking.getId());
 
-        Customer customer = session.getCustomerObject();
-        PaymentIntent pi = session.getPaymentIntentObject();
-
-        log.debug("COMPLETED_HANDLER: Retrieved Customer ({}) and PaymentIntent ({}).", customer.getId(), pi.getId());
-
-        Address address = pi.getLatestChargeObject().getBillingDetails().getAddress();
-        log.debug("COMPLETED_HANDLER: Retrieved billing address for charge {}.", pi.getLatestChargeObject().getId());
-
         Order order = orderRepository
                 .findBySessionId(session.getId())
                 .orElseGet(() -> {
                     log.info("COMPLETED_HANDLER: Order not found for session {}. Creating new order.", session.getId());
-                    return Order.builder()
-                            .customerName(customer.getName())
-                            .customerEmail(customer.getEmail())
-                            .addressLine1(address.getLine1())
-                            .addressLine2(address.getLine2())
-                            .city(address.getCity())
-                            .state(address.getState())
-                            .pinCode(address.getPostalCode())
-                            .sessionId(session.getId())
-                            .paymentId(pi.getId())
-                            .user(user)
-                            .booking(booking)
-                            .totalAmount(booking.getTotalAmount())
-                            .build();
+                    return newOrder(resolveCustomerDetails(session), session.getId(), session.getPaymentIntent(), user, booking);
                 });
 
         booking.setOrder(order);
 
         log.debug("COMPLETED_HANDLER: Attached order to booking. Stripe payment status: {}", session.getPaymentStatus());
 
-        if (session.getPaymentStatus().equals("paid")) {
+        if ("paid".equals(session.getPaymentStatus())) {
             log.info("COMPLETED_HANDLER: Payment is 'paid'. Setting BookingStatus to CONFIRMED and PaymentStatus to PAID.");
+            if (booking.getPaymentStatus() != PaymentStatus.PAID) {
+                recordSettlementAfterCommit(booking.getCreatedAt(), FunnelMetrics.Settlement.CONFIRMED);
+            }
             booking.setBookingStatus(BookingStatus.CONFIRMED);
             booking.setPaymentStatus(PaymentStatus.PAID);
             order.setPaymentStatus(PaymentStatus.PAID);
-        } else if (session.getPaymentStatus().equals("unpaid")) {
+        } else if ("unpaid".equals(session.getPaymentStatus())) {
             log.warn("COMPLETED_HANDLER: Payment is 'unpaid'. Setting BookingStatus to PROCESSING and PaymentStatus to IN_PROGRESS.");
             booking.setBookingStatus(BookingStatus.PROCESSING);
             booking.setPaymentStatus(PaymentStatus.IN_PROGRESS);
@@ -263,23 +238,106 @@ public class StripePaymentService {
         log.info("COMPLETED_HANDLER: Saving updated Order and Booking.");
         orderRepository.save(order);
         bookingRepository.save(booking);
+        checkoutSessionRegistry.evict(booking.getId());
+        readYourWritesTracker.markWrite(user.getUsername());
         log.info("COMPLETED_HANDLER: Successfully processed Session ID: {}", session.getId());
     }
 
+    // Reconciliation confirms bookings whose completion webhook never arrived, so their order is built here from the
+    // charge's billing details. While those are incomplete the booking is left as it is, for the next run.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean confirmWithOrder(Long bookingId, String sessionId, String paymentIntentId, Charge.BillingDetails billing) {
+        Address address = billing != null ? billing.getAddress() : null;
+        if (paymentIntentId == null || address == null || billing.getName() == null || billing.getEmail() == null
+                || address.getLine1() == null || address.getCity() == null || address.getState() == null
+                || address.getPostalCode() == null) {
+            log.warn("RECONCILIATION: Billing details of session {} are incomplete. Booking {} left unconfirmed.", sessionId, bookingId);
+            return false;
+        }
+
+        Booking booking = baseService.findByIdOrThrow(bookingId, bookingRepository);
+        Session.CustomerDetails customer = new Session.CustomerDetails();
+        customer.setName(billing.getName());
+        customer.setEmail(billing.getEmail());
+        customer.setAddress(address);
+
+        Order order = newOrder(customer, sessionId, paymentIntentId, booking.getUser(), booking);
+        order.setPaymentStatus(PaymentStatus.PAID);
+        booking.setOrder(order);
+        booking.setBookingStatus(BookingStatus.CONFIRMED);
+        booking.setPaymentStatus(PaymentStatus.PAID);
+
+        orderRepository.save(order);
+        bookingRepository.save(booking);
+        log.info("RECONCILIATION: Created order for session {} and confirmed booking {}", sessionId, bookingId);
+        return true;
+    }
+
+    private Order newOrder(Session.CustomerDetails customer, String sessionId, String paymentIntentId, User user, Booking booking) {
+        Address address = customer.getAddress() != null ? customer.getAddress() : new Address();
+        return Order.builder()
+                .customerName(customer.getName())
+                .customerEmail(customer.getEmail())
+                .addressLine1(address.getLine1())
+                .addressLine2(address.getLine2())
+                .city(address.getCity())
+                .state(address.getState())
+                .pinCode(address.getPostalCode())
+                .sessionId(sessionId)
+                .paymentId(paymentIntentId)
+                .user(user)
+                .booking(booking)
+                .totalAmount(booking.getTotalAmount())
+                .build();
+    }
+
+    // Checkout events already carry customer_details with the collected billing address; the session is only
+    // fetched again, with the single expansion that holds the charge's billing details, when that is missing.
+    // Any field the charge cannot supply keeps whatever the session had.
+    private Session.CustomerDetails resolveCustomerDetails(Session session) {
+        Session.CustomerDetails details = session.getCustomerDetails() != null
+                ? session.getCustomerDetails()
+                : new Session.CustomerDetails();
+        if (details.getAddress() != null && details.getAddress().getLine1() != null) {
+            return details;
+        }
+
+        log.info("COMPLETED_HANDLER: Billing address missing from event for session {}. Fetching charge.", session.getId());
+        Charge.BillingDetails billing = paymentGateway.retrieveBillingDetails(session.getId());
+        if (billing == null) {
+            log.warn("COMPLETED_HANDLER: Session {} has no charge; using the customer details on the session.", session.getId());
+            return details;
+        }
+
+        if (billing.getAddress() != null) {
+            details.setAddress(billing.getAddress());
+        }
+        if (details.getName() == null) {
+            details.setName(billing.getName());
+        }
+        if (details.getEmail() == null) {
+            details.setEmail(billing.getEmail());
+        }
+        return details;
+    }
+
     private void handleAsyncPaymentSucceeded(Session session) {
         log.info("ASYNC_SUCCESS_HANDLER: Starting for Session ID: {}", session.getId());
 
-        String bookingId = session.getMetadata().get("bookingId");
+        Long bookingId = bookingIdOf(session);
         if (bookingId == null) {
             log.error("ASYNC_SUCCESS_HANDLER: Missing required metadata 'bookingId'. Aborting.");
             return;
         }
         log.debug("ASYNC_SUCCESS_HANDLER: Extracted bookingId: {}", bookingId);
 
-        Booking booking = baseService.findByIdOrThrow(Long.valueOf(bookingId), bookingRepository);
+        Booking booking = baseService.findByIdOrThrow(bookingId, bookingRepository);
         Order order = booking.getOrder();
 
         log.info("ASYNC_SUCCESS_HANDLER: Booking (ID: {}) found. Updating statuses to CONFIRMED/PAID.", booking.getId());
+        if (booking.getPaymentStatus() != PaymentStatus.PAID) {
+            recordSettlementAfterCommit(booking.getCreatedAt(), FunnelMetrics.Settlement.CONFIRMED);
+        }
         booking.setBookingStatus(BookingStatus.CONFIRMED);
         booking.setPaymentStatus(PaymentStatus.PAID);
         order.setPaymentStatus(PaymentStatus.PAID);
@@ -291,29 +349,93 @@ public class StripePaymentService {
         log.info("ASYNC_SUCCESS_HANDLER: Successfully processed Session ID: {}", session.getId());
     }
 
-    private void handleAsyncPaymentFailed(Session session) {
+    private void handleAsyncPaymentFailed(Session session, FunnelMetrics.Settlement settlement) {
         log.warn("ASYNC_FAIL_HANDLER: Starting for Session ID: {}", session.getId());
 
-        String bookingId = session.getMetadata().get("bookingId");
+        Long bookingId = bookingIdOf(session);
         if (bookingId == null) {
             log.error("ASYNC_FAIL_HANDLER: Missing required metadata 'bookingId'. Aborting.");
             return;
         }
         log.debug("ASYNC_FAIL_HANDLER: Extracted bookingId: {}", bookingId);
 
-        Booking booking = baseService.findByIdOrThrow(Long.valueOf(bookingId), bookingRepository);
+        Booking booking = baseService.findByIdOrThrow(bookingId, bookingRepository);
         Order order = booking.getOrder();
 
         log.warn("ASYNC_FAIL_HANDLER: Booking (ID: {}) found. Updating statuses to PENDING/FAILED.", booking.getId());
+        if (booking.getPaymentStatus() != PaymentStatus.FAILED) {
+            recordSettlementAfterCommit(booking.getCreatedAt(), settlement);
+        }
         booking.setBookingStatus(BookingStatus.PENDING);
         booking.setPaymentStatus(PaymentStatus.FAILED);
-        order.setPaymentStatus(PaymentStatus.FAILED);
+        if (order != null) {
+            order.setPaymentStatus(PaymentStatus.FAILED);
+        }
 
         log.warn("ASYNC_FAIL_HANDLER: Saving updated Booking and Order.");
         bookingRepository.save(booking);
-        orderRepository.save(order);
+        if (order != null) {
+            orderRepository.save(order);
+        }
 
         log.warn("ASYNC_FAIL_HANDLER: Finished processing for Session ID: {}", session.getId());
     }
 
+    // Sessions replaced by a newer one for the same booking expire harmlessly; only the booking's current
+    // session failing to complete affects the booking.
+    private void handleSessionExpired(Session session) {
+        Long bookingId = bookingIdOf(session);
+        if (bookingId == null) {
+            log.error("EXPIRED_HANDLER: Missing required metadata 'bookingId'. Aborting.");
+            return;
+        }
+
+        if (!checkoutSessionRegistry.isCurrent(bookingId, session.getId())) {
+            log.info("EXPIRED_HANDLER: Session {} is not the current session of booking {}. Ignoring.", session.getId(), bookingId);
+            return;
+        }
+
+        // Settlement evicts the registry row, so an older session expiring afterwards must not undo the payment.
+        Booking booking = baseService.findByIdOrThrow(bookingId, bookingRepository);
+        if (booking.getPaymentStatus() == PaymentStatus.PAID) {
+            log.info("EXPIRED_HANDLER: Booking {} is already paid. Ignoring expiry of session {}.", bookingId, session.getId());
+            return;
+        }
+
+        checkoutSessionRegistry.evict(bookingId);
+        handleAsyncPaymentFailed(session, FunnelMetrics.Settlement.EXPIRED);
+    }
+
+    // Redeliveries and rolled-back attempts must not be timed again, so only a committed status change is recorded.
+    private void recordSettlementAfterCommit(LocalDateTime bookedAt, FunnelMetrics.Settlement settlement) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                funnelMetrics.recordSettlement(bookedAt, settlement);
+            }
+        });
+    }
+
+    // A malformed id is queued without a booking and fails in the worker, which dead-letters it; rejecting it
+    // here would answer Stripe with an error it retries for days.
+    static Long parseBookingId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("WEBHOOK: Ignoring malformed bookingId metadata '{}'", value);
+            return null;
+        }
+    }
+
+    private Long bookingIdOf(Session session) {
+        String value = session.getMetadata().get("bookingId");
+        Long bookingId = parseBookingId(value);
+        if (value != null && bookingId == null) {
+            throw new InvalidWebhookEventException("Malformed bookingId metadata on session " + session.getId());
+        }
+        return bookingId;
+    }
 }
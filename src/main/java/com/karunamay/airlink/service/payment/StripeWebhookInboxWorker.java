@@ -0,0 +1,183 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.exceptions.InvalidWebhookEventException;
+import com.karunamay.airlink.model.payment.StripeWebhookEvent;
+import com.karunamay.airlink.model.payment.WebhookEventStatus;
+import com.karunamay.airlink.repository.payment.StripeWebhookEventRepository;
+import com.karunamay.airlink.service.tracing.TraceParentCarrier;
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class StripeWebhookInboxWorker {
+
+    private final StripeWebhookEventRepository stripeWebhookEventRepository;
+    private final StripePaymentService stripePaymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final TraceParentCarrier traceParentCarrier;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${app.webhook.batchSize}")
+    private int batchSize;
+
+    @Value("${app.webhook.maxAttempts}")
+    private int maxAttempts;
+
+    @Value("${app.webhook.retryBackoffInSec}")
+    private long retryBackoffInSec;
+
+    @Value("${app.webhook.maxBackoffInSec}")
+    private long maxBackoffInSec;
+
+    @Value("${app.webhook.leaseTimeoutInSec}")
+    private long leaseTimeoutInSec;
+
+    public StripeWebhookInboxWorker(
+            StripeWebhookEventRepository stripeWebhookEventRepository,
+            StripePaymentService stripePaymentService,
+            TransactionTemplate transactionTemplate,
+            TraceParentCarrier traceParentCarrier,
+            @Value("${app.webhook.poolSize}") int poolSize,
+            @Value("${app.webhook.queueCapacity}") int queueCapacity
+    ) {
+        this.stripeWebhookEventRepository = stripeWebhookEventRepository;
+        this.stripePaymentService = stripePaymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.traceParentCarrier = traceParentCarrier;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stripe-webhook-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        log.info("Stripe webhook worker started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.pollIntervalInMs}")
+    public void drain() {
+        int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+        if (capacity == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StripeWebhookEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime leaseExpiredBefore = now.minusSeconds(leaseTimeoutInSec);
+            int deadLettered = stripeWebhookEventRepository.deadLetterStale(leaseExpiredBefore, maxAttempts, now);
+            if (deadLettered > 0) {
+                log.error("WEBHOOK_WORKER: Moved {} events to dead letter after their last worker lease expired", deadLettered);
+            }
+            int released = stripeWebhookEventRepository.releaseStale(leaseExpiredBefore, now);
+            if (released > 0) {
+                log.warn("WEBHOOK_WORKER: Released {} events whose worker lease expired", released);
+            }
+
+            List<StripeWebhookEvent> events = stripeWebhookEventRepository.claimDue(now, capacity);
+            events.forEach(event -> {
+                event.setStatus(WebhookEventStatus.PROCESSING);
+                event.setClaimedAt(now);
+            });
+            return events;
+        });
+
+        for (StripeWebhookEvent claimedEvent : claimed) {
+            String eventId = claimedEvent.getId();
+            String traceParent = claimedEvent.getTraceParent();
+            try {
+                executor.execute(() -> traceParentCarrier.continueTrace(
+                        traceParent,
+                        "stripe.webhook.process",
+                        Map.of("stripe.event.id", eventId, "stripe.event.type", claimedEvent.getType()),
+                        () -> process(eventId)
+                ));
+            } catch (RejectedExecutionException e) {
+                transactionTemplate.executeWithoutResult(
+                        status -> stripeWebhookEventRepository.releaseClaim(eventId, LocalDateTime.now())
+                );
+                log.warn("WEBHOOK_WORKER: Queue full, event {} released for the next poll", eventId);
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void process(String eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                StripeWebhookEvent inboxEvent = stripeWebhookEventRepository.findById(eventId).orElseThrow();
+                Event event = ApiResource.GSON.fromJson(inboxEvent.getPayload(), Event.class);
+
+                stripePaymentService.processWebhookEvent(event);
+
+                inboxEvent.setStatus(WebhookEventStatus.PROCESSED);
+                inboxEvent.setProcessedAt(LocalDateTime.now());
+                inboxEvent.setClaimedAt(null);
+                inboxEvent.setLastError(null);
+            });
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> recordFailure(eventId, e));
+        }
+    }
+
+    private void recordFailure(String eventId, RuntimeException error) {
+        StripeWebhookEvent inboxEvent = stripeWebhookEventRepository.findById(eventId).orElse(null);
+        if (inboxEvent == null) {
+            return;
+        }
+
+        int attempts = inboxEvent.getAttempts() + 1;
+        String message = String.valueOf(error.getMessage());
+        inboxEvent.setAttempts(attempts);
+        inboxEvent.setClaimedAt(null);
+        inboxEvent.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        // A malformed event fails the same way on every attempt.
+        if (attempts >= maxAttempts || error instanceof InvalidWebhookEventException) {
+            inboxEvent.setStatus(WebhookEventStatus.DEAD_LETTER);
+            log.error("WEBHOOK_WORKER: Event {} moved to dead letter after {} attempts", eventId, attempts, error);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffInSec, retryBackoffInSec << Math.min(attempts - 1, 20));
+        inboxEvent.setStatus(WebhookEventStatus.PENDING);
+        inboxEvent.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        log.warn("WEBHOOK_WORKER: Event {} failed attempt {}, retrying in {}s: {}", eventId, attempts, backoff, message);
+    }
+}
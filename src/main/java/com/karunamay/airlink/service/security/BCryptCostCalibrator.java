@@ -0,0 +1,36 @@
+package com.karunamay.airlink.service.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetLatencyInMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+
+        // First run warms up the JIT, second one is measured.
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        double elapsedInMs = Math.max((System.nanoTime() - start) / 1_000_000.0, 1.0);
+
+        // Every cost step doubles the work factor.
+        int extraRounds = (int) Math.floor(Math.log(targetLatencyInMs / elapsedInMs) / Math.log(2));
+        int cost = Math.max(minCost, Math.min(maxCost, minCost + extraRounds));
+
+        log.info(
+                "BCrypt calibrated to cost {} (cost {} took {} ms, target {} ms)",
+                cost,
+                minCost,
+                String.format("%.1f", elapsedInMs),
+                targetLatencyInMs
+        );
+        return cost;
+    }
+}
@@ -1,8 +1,9 @@
 package com.karunamay.airlink.service.security;
 
+import com.karunamay.airlink.exceptions.JwtAuthenticationException;
 import com.karunamay.airlink.exceptions.TokenExpiredException;
-import com.karunamay.airlink.model.token.BlackListToken;
-import com.karunamay.airlink.repository.token.BlackListTokenRepository;
+import com.karunamay.airlink.service.metrics.FunnelMetrics;
+import com.karunamay.airlink.service.token.BlackListTokenService;
 import com.karunamay.airlink.service.user.CustomUserDetailsService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -21,68 +22,37 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final BlackListTokenRepository blackListTokenRepository;
+    private final BlackListTokenService blackListTokenService;
     private final CustomUserDetailsService userDetailsService;
     private final JwtTokenProvider jwtTokenProvider;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final FunnelMetrics funnelMetrics;
 
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        log.info("🔍 Starting JwtAuthenticationFilter for request: {}", request.getRequestURI());
-
         try {
-            String token = null;
-            String header = request.getHeader("Authorization");
-
-            log.info("Authorization Header: {}", header);
-
-            if (header != null && header.startsWith("Bearer ")) {
-                token = header.substring(7);
-                log.info("Extracted Token from Authorization Header");
-            }
-
-            if (token == null) {
-                log.info("Token not found in header. Checking cookies...");
-                Cookie[] cookies = request.getCookies();
-
-                if (cookies != null) {
-                    for (Cookie cookie : cookies) {
-                        log.info("Cookie found: {}", cookie.getName());
-                        if ("accessToken".equals(cookie.getName())) {
-                            token = cookie.getValue();
-                            log.info("Extracted Token from Cookies");
-                            break;
-                        }
-                    }
-                } else {
-                    log.info("No cookies found.");
-                }
+            String token = resolveToken(request);
+            Claims claims = null;
+            boolean isBlackListedToken = false;
+
+            if (token != null) {
+                claims = verify(token);
+                isBlackListedToken = blackListTokenService.isRevoked(claims.getId());
+                funnelMetrics.recordRevocationCheck(isBlackListedToken);
             }
 
-            log.info("Token to validate: {}", token);
-
-            Optional<BlackListToken> isBlackListedToken = blackListTokenRepository.findByTokenId(token);
-            log.info("Blacklist check result: {}", isBlackListedToken.isPresent() ? "BLACKLISTED" : "Not blacklisted");
-
-            if (token != null && isBlackListedToken.isEmpty()) {
-
-                log.info("Validating and parsing token");
-                Claims claims = jwtTokenProvider.validateAndParseClaims(token).getPayload();
+            if (claims != null && !isBlackListedToken) {
 
                 String username = claims.getSubject();
-                log.info("Extracted Username from Token: {}", username);
-
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                log.info("Loaded UserDetails for: {}", username);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -93,23 +63,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                log.info("Authentication set successfully for user: {}", username);
-            } else {
-                log.info("Token is either null or blacklisted. Skipping authentication setup.");
+                log.atDebug()
+                        .addKeyValue("tokenId", claims.getId())
+                        .log("Authenticated request to {}", request.getRequestURI());
+            } else if (isBlackListedToken) {
+                log.atDebug()
+                        .addKeyValue("tokenId", claims.getId())
+                        .log("Revoked access token presented for {}", request.getRequestURI());
             }
 
             filterChain.doFilter(request, response);
-            log.info("Filter chain continued successfully.");
 
         } catch (TokenExpiredException e) {
-            log.error("❌ TokenExpiredException: Token expired", e);
+            log.debug("Expired access token presented for {}", request.getRequestURI());
+            handlerExceptionResolver.resolveException(request, response, null, e);
+        } catch (JwtAuthenticationException e) {
+            log.debug("Rejected access token for {}: {}", request.getRequestURI(), e.getMessage());
             handlerExceptionResolver.resolveException(request, response, null, e);
         } catch (Exception e) {
-            log.error("❌ Unexpected authentication error", e);
+            log.error("Unexpected error while handling {}", request.getRequestURI(), e);
             handlerExceptionResolver.resolveException(request, response, null, e);
         }
+    }
 
-        log.info("JwtAuthenticationFilter execution completed for request: {}", request.getRequestURI());
+    // Never logged: the header and cookie values are bearer credentials.
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if ("accessToken".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
     }
-}
 
+    private Claims verify(String token) {
+        long start = funnelMetrics.start();
+        try {
+            Claims claims = jwtTokenProvider.validateAndParseClaims(token).getPayload();
+            funnelMetrics.recordTokenVerification(start, FunnelMetrics.TokenOutcome.VALID);
+            return claims;
+        } catch (TokenExpiredException e) {
+            funnelMetrics.recordTokenVerification(start, FunnelMetrics.TokenOutcome.EXPIRED);
+            throw e;
+        } catch (RuntimeException e) {
+            funnelMetrics.recordTokenVerification(start, FunnelMetrics.TokenOutcome.INVALID);
+            throw e;
+        }
+    }
+}
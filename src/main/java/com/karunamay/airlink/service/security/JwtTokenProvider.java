@@ -3,6 +3,8 @@ package com.karunamay.airlink.service.security;
 import com.karunamay.airlink.exceptions.JwtAuthenticationException;
 import com.karunamay.airlink.exceptions.TokenExpiredException;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.Key;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -22,6 +25,8 @@ import java.util.*;
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String FAMILY_CLAIM = "fam";
+
     @Value("${app.jwt.accessTokenExpirationInSec}")
     private String accessTokenExpirationInSec;
 
@@ -40,6 +45,50 @@ public class JwtTokenProvider {
     @Value("${app.jwt.publicKeySystemPath}")
     private String publicKeySystemPath;
 
+    @Value("${app.jwt.signatureAlgorithm}")
+    private String signatureAlgorithm;
+
+    @Value("${app.jwt.acceptedPublicKeySystemPaths:}")
+    private List<String> acceptedPublicKeySystemPaths;
+
+    private PrivateKey signingKey;
+    private SecureDigestAlgorithm<PrivateKey, PublicKey> signingAlgorithm;
+    private JwtParser parser;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void init() {
+        signingKey = KeyLoader.getPrivateKey(privateKeySystemPath);
+        signingAlgorithm = (SecureDigestAlgorithm<PrivateKey, PublicKey>) Jwts.SIG.get().forKey(signatureAlgorithm);
+
+        // Tokens signed with a previous algorithm stay valid while their public key is listed.
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        verificationKeys.put(signatureAlgorithm, KeyLoader.getPublicKey(publicKeySystemPath));
+        for (String path : acceptedPublicKeySystemPaths) {
+            if (!path.isBlank()) {
+                PublicKey key = KeyLoader.getPublicKey(path.trim());
+                verificationKeys.putIfAbsent(KeyLoader.getJwsAlgorithm(key), key);
+            }
+        }
+
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = verificationKeys.get(header.getAlgorithm());
+                        if (key == null) {
+                            throw new UnsupportedJwtException(
+                                    "Unsupported JWT signature algorithm " + header.getAlgorithm()
+                            );
+                        }
+                        return key;
+                    }
+                })
+                .build();
+
+        log.info("JWT signing with {}, accepting {}", signatureAlgorithm, verificationKeys.keySet());
+    }
+
     public String generateAccessToken(String username) {
 
         Date iat = new Date();
@@ -59,12 +108,12 @@ public class JwtTokenProvider {
                 .id(UUID.randomUUID().toString())
                 .claims(claims)
                 .header().add(headers).and()
-                .signWith(KeyLoader.getPrivateKey(privateKeySystemPath), SignatureAlgorithm.RS256)
+                .signWith(signingKey, signingAlgorithm)
                 .compact();
 
     }
 
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(String username, String familyId, String tokenId) {
 
         Date iat = new Date();
         long refreshTokenExpirationInMs = Long.valueOf(refreshTokenExpirationInSec) * 1000L;
@@ -74,6 +123,7 @@ public class JwtTokenProvider {
         Map<String, Object> claims = new HashMap<>();
 
         claims.put("type", "refresh");
+        claims.put(FAMILY_CLAIM, familyId);
 
         return Jwts.builder()
                 .issuer(issuer)
@@ -81,38 +131,35 @@ public class JwtTokenProvider {
                 .audience().add(audience).and()
                 .expiration(refreshTokenExpiryDate)
                 .subject(username)
-                .id(UUID.randomUUID().toString())
+                .id(tokenId)
                 .claims(claims)
                 .header().add(headers).and()
-                .signWith(KeyLoader.getPrivateKey(privateKeySystemPath), SignatureAlgorithm.RS256)
+                .signWith(signingKey, signingAlgorithm)
                 .compact();
 
     }
 
     public Jws<Claims> validateAndParseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(KeyLoader.getPublicKey(publicKeySystemPath))
-                    .build()
-                    .parseSignedClaims(token);
+            return parser.parseSignedClaims(token);
         } catch (SecurityException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
+            log.debug("Invalid JWT signature: {}", ex.getMessage());
             throw new JwtAuthenticationException("Invalid JWT signature", ex);
         } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
+            log.debug("Invalid JWT token: {}", ex.getMessage());
             throw new JwtAuthenticationException("Invalid JWT token", ex);
         } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
+            log.debug("Expired JWT token: {}", ex.getMessage());
             throw new TokenExpiredException(
                     "JWT token has expired. Please login again or refresh your token.",
                     token,
                     ex.getClaims().getExpiration()
             );
         } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
+            log.debug("Unsupported JWT token: {}", ex.getMessage());
             throw new JwtAuthenticationException("Unsupported JWT token", ex);
         } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
+            log.debug("JWT claims string is empty: {}", ex.getMessage());
             throw new JwtAuthenticationException("JWT claims string is empty", ex);
         }
     }
@@ -120,10 +167,7 @@ public class JwtTokenProvider {
 
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(KeyLoader.getPublicKey(publicKeySystemPath))
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (Exception e) {
             log.debug("Token validation failed: {} ", e.getMessage());
@@ -144,9 +188,7 @@ public class JwtTokenProvider {
 
     public Date getExpirationDateFromToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(KeyLoader.getPublicKey(publicKeySystemPath))
-                    .build()
+            Claims claims = parser
                     .parseSignedClaims(token)
                     .getPayload();
             return claims.getExpiration();
@@ -157,6 +199,9 @@ public class JwtTokenProvider {
     }
 
     public static class KeyLoader {
+
+        private static final List<String> KEY_ALGORITHMS = List.of("RSA", "EC", "Ed25519");
+
         public static PublicKey getPublicKey(String keyPath) {
             try {
                 String key = Files.readString(Paths.get(keyPath))
@@ -166,7 +211,14 @@ public class JwtTokenProvider {
 
                 byte[] keyByte = Base64.getDecoder().decode(key);
                 X509EncodedKeySpec spec = new X509EncodedKeySpec(keyByte);
-                return KeyFactory.getInstance("RSA").generatePublic(spec);
+                for (String algorithm : KEY_ALGORITHMS) {
+                    try {
+                        return KeyFactory.getInstance(algorithm).generatePublic(spec);
+                    } catch (Exception ignored) {
+                        // Try the next key type.
+                    }
+                }
+                throw new IllegalArgumentException("Unsupported public key type in " + keyPath);
             } catch (Exception e) {
                 log.error("Failed creating public key.");
                 throw new RuntimeException(e);
@@ -182,11 +234,27 @@ public class JwtTokenProvider {
 
                 byte[] keyByte = Base64.getDecoder().decode(key);
                 PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyByte);
-                return KeyFactory.getInstance("RSA").generatePrivate(spec);
+                for (String algorithm : KEY_ALGORITHMS) {
+                    try {
+                        return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+                    } catch (Exception ignored) {
+                        // Try the next key type.
+                    }
+                }
+                throw new IllegalArgumentException("Unsupported private key type in " + keyPath);
             } catch (Exception e) {
                 log.error("Failed creating private key");
                 throw new RuntimeException(e);
             }
         }
+
+        public static String getJwsAlgorithm(Key key) {
+            return switch (key.getAlgorithm()) {
+                case "RSA" -> "RS256";
+                case "EC" -> "ES256";
+                case "EdDSA", "Ed25519" -> "EdDSA";
+                default -> throw new IllegalArgumentException("Unsupported key algorithm " + key.getAlgorithm());
+            };
+        }
     }
 }
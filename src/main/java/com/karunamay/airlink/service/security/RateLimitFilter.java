@@ -0,0 +1,88 @@
+package com.karunamay.airlink.service.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karunamay.airlink.config.RateLimitProperties;
+import com.karunamay.airlink.exceptions.RateLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 8 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || findLimit(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Map.Entry<String, RateLimitProperties.Limit> entry = findLimit(request);
+        String endpoint = entry.getKey();
+        RateLimitProperties.Limit limit = entry.getValue();
+        HttpServletRequest filteredRequest = request;
+
+        try {
+            rateLimiter.checkIp(endpoint, limit, request.getRemoteAddr());
+
+            // Content-Length is not trusted; a body too large to inspect counts as having no readable account.
+            if (limit.getAccountField() != null) {
+                CachedBodyHttpServletRequest cachedRequest =
+                        new CachedBodyHttpServletRequest(request, MAX_INSPECTED_BODY_BYTES);
+                filteredRequest = cachedRequest;
+                String account = cachedRequest.isTruncated()
+                        ? null
+                        : readAccount(cachedRequest.getBody(), limit.getAccountField());
+                rateLimiter.checkAccount(endpoint, limit, account);
+            }
+        } catch (RateLimitExceededException e) {
+            handlerExceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+
+        filterChain.doFilter(filteredRequest, response);
+    }
+
+    private Map.Entry<String, RateLimitProperties.Limit> findLimit(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (Map.Entry<String, RateLimitProperties.Limit> entry : properties.getEndpoints().entrySet()) {
+            if (path.equals(entry.getValue().getPath())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private String readAccount(byte[] body, String field) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            log.debug("Could not read account field from request body: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.karunamay.airlink.service.security;
+
+import com.karunamay.airlink.config.RateLimitProperties;
+import com.karunamay.airlink.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    public void checkIp(String endpoint, RateLimitProperties.Limit limit, String ip) {
+        if (ip == null || limit.getIpCapacity() <= 0) {
+            return;
+        }
+        check(ipBuckets, endpoint, "ip", ip, limit.getIpCapacity(), limit.getIpRefillPerMinute());
+    }
+
+    // Requests without a readable account share the empty key, which no real account can map to, so leaving the
+    // field out does not escape the per-account limit.
+    public void checkAccount(String endpoint, RateLimitProperties.Limit limit, String account) {
+        if (limit.getAccountCapacity() <= 0) {
+            return;
+        }
+        check(
+                accountBuckets,
+                endpoint,
+                "account",
+                account == null ? "" : account.trim().toLowerCase(),
+                limit.getAccountCapacity(),
+                limit.getAccountRefillPerMinute()
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${app.rateLimit.idleEvictionInSec}", timeUnit = TimeUnit.SECONDS)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictionInSec());
+        int before = ipBuckets.size() + accountBuckets.size();
+
+        ipBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        accountBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+
+        log.debug("Evicted {} idle rate limit buckets", before - ipBuckets.size() - accountBuckets.size());
+    }
+
+    private void check(
+            Map<String, TokenBucket> buckets,
+            String endpoint,
+            String keyType,
+            String key,
+            long capacity,
+            long refillPerMinute
+    ) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(
+                endpoint + ":" + key,
+                ignored -> new TokenBucket(capacity, refillPerMinute, now)
+        );
+
+        if (!bucket.tryConsume(now)) {
+            rejectionCounters
+                    .computeIfAbsent(endpoint + ":" + keyType, ignored -> Counter
+                            .builder("airlink.ratelimit.rejections")
+                            .description("Requests rejected by the rate limiter")
+                            .tag("endpoint", endpoint)
+                            .tag("key", keyType)
+                            .register(meterRegistry))
+                    .increment();
+            throw new RateLimitExceededException(
+                    "Too many requests. Please try again later.",
+                    bucket.secondsUntilNextToken(now)
+            );
+        }
+    }
+}
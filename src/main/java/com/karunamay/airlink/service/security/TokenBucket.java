@@ -0,0 +1,56 @@
+package com.karunamay.airlink.service.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    boolean tryConsume(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return true;
+            }
+        }
+    }
+
+    long secondsUntilNextToken(long nowNanos) {
+        double missing = 1 - refill(state.get(), nowNanos);
+        if (missing <= 0) {
+            return 0;
+        }
+        if (tokensPerNano <= 0) {
+            return 60;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds((long) Math.ceil(missing / tokensPerNano)));
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - lastAccessNanos > idleNanos;
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.refilledAtNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
@@ -1,5 +1,7 @@
 package com.karunamay.airlink.service.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karunamay.airlink.config.RateLimitProperties;
 import com.karunamay.airlink.service.user.CustomUserDetailsService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.util.List;
 
@@ -34,6 +37,10 @@ public class WebSecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+    private final HandlerExceptionResolver handlerExceptionResolver;
 
     @Value("${app.cors.frontEndClient}")
     private String frontendClient;
@@ -44,9 +51,20 @@ public class WebSecurityConfig {
     @Value("${app.cors.swaggerServerUrl}")
     private String swaggerServerUrl;
 
+    @Value("${app.hashing.targetLatencyInMs}")
+    private long hashingTargetLatencyInMs;
+
+    @Value("${app.hashing.minCost}")
+    private int hashingMinCost;
+
+    @Value("${app.hashing.maxCost}")
+    private int hashingMaxCost;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(
+                BCryptCostCalibrator.calibrate(hashingTargetLatencyInMs, hashingMinCost, hashingMaxCost)
+        );
     }
 
     @Bean
@@ -108,7 +126,7 @@ public class WebSecurityConfig {
                                         "/webjars/**"
                                 ).permitAll()
                                 // Admin only endpoints
-                                .requestMatchers("/admin/**").hasRole("ADMIN")
+                                .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
 
                 )
@@ -116,6 +134,10 @@ public class WebSecurityConfig {
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(
+                        new RateLimitFilter(rateLimiter, rateLimitProperties, objectMapper, handlerExceptionResolver),
+                        JwtAuthenticationFilter.class
+                )
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((
                                 request,
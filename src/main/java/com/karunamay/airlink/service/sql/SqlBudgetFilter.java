@@ -0,0 +1,87 @@
+package com.karunamay.airlink.service.sql;
+
+import com.karunamay.airlink.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+// Runs ahead of the security chain so the authentication lookups count against the endpoint too.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(prefix = "app.sqlBudget", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (SqlStatementRecorder.Recording recording =
+                     SqlStatementRecorder.start(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            evaluate(request, recording);
+        }
+    }
+
+    private void evaluate(HttpServletRequest request, SqlStatementRecorder.Recording recording) {
+        if (recording.getStatements() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+        Tags tags = Tags.of("endpoint", endpoint);
+        meterRegistry.summary("airlink.sql.statements", tags).record(recording.getStatements());
+        meterRegistry.summary("airlink.sql.rows", tags).record(recording.getRows());
+        meterRegistry.timer("airlink.sql.time", tags).record(Duration.ofMillis(recording.getElapsedMillis()));
+
+        int budget = budgetFor(request);
+        int threshold = properties.getRepeatedStatementThreshold();
+        if (recording.getStatements() > budget) {
+            meterRegistry.counter("airlink.sql.budget.exceeded", tags).increment();
+            log.warn("SQL budget exceeded on {}: {} (budget {})", endpoint, recording.summary(), budget);
+        }
+        Map<String, Integer> repeated = recording.repeatedStatements(threshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("airlink.sql.repeated.statements", tags).increment();
+            log.warn("Possible N+1 on {}: repeated statements {}", endpoint, repeated);
+        }
+
+        if (properties.isFailOnViolation()) {
+            recording.assertStatementsAtMost(budget).assertNoRepeatedStatements(threshold);
+        }
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        for (SqlBudgetProperties.Budget budget : properties.getEndpoints().values()) {
+            boolean methodMatches = budget.getMethod() == null || budget.getMethod().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && pathMatcher.match(budget.getPath(), request.getServletPath())) {
+                return budget.getMaxStatements();
+            }
+        }
+        return properties.getDefaultMaxStatements();
+    }
+}
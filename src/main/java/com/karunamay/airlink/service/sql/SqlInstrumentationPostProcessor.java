@@ -0,0 +1,49 @@
+package com.karunamay.airlink.service.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@ConditionalOnProperty(prefix = "app.sqlBudget", name = "enabled", havingValue = "true")
+public class SqlInstrumentationPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        // Statements run inside a repository call are attributed to it; the rest are lazy loads or native JDBC.
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> {
+                        String repository = information.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                            if (!SqlStatementRecorder.isRecording()) {
+                                return invocation.proceed();
+                            }
+                            String previous = SqlStatementRecorder.enterSource(
+                                    repository + "." + invocation.getMethod().getName()
+                            );
+                            try {
+                                return invocation.proceed();
+                            } finally {
+                                SqlStatementRecorder.exitSource(previous);
+                            }
+                        });
+                    }
+            ));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,161 @@
+package com.karunamay.airlink.service.sql;
+
+import com.karunamay.airlink.exceptions.SqlBudgetExceededException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Thread-bound recordings of the JDBC work done while they are open. SqlBudgetFilter keeps one per HTTP request;
+// integration tests can open their own around a MockMvc call and assert on it:
+//
+//   try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start("GET /flight/{id}")) {
+//       mockMvc.perform(get("/flight/1"));
+//       recording.assertStatementsAtMost(3).assertNoRepeatedStatements(2);
+//   }
+public final class SqlStatementRecorder {
+
+    private static final String UNATTRIBUTED = "<lazy-load or native>";
+    private static final ThreadLocal<Deque<Recording>> RECORDINGS = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_SOURCE = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static Recording start(String name) {
+        Deque<Recording> recordings = RECORDINGS.get();
+        if (recordings == null) {
+            recordings = new ArrayDeque<>();
+            RECORDINGS.set(recordings);
+        }
+        Recording recording = new Recording(name);
+        recordings.push(recording);
+        return recording;
+    }
+
+    static boolean isRecording() {
+        return RECORDINGS.get() != null;
+    }
+
+    static String enterSource(String source) {
+        String previous = CURRENT_SOURCE.get();
+        // The outermost repository call owns the statements of any nested one.
+        if (previous == null) {
+            CURRENT_SOURCE.set(source);
+        }
+        return previous;
+    }
+
+    static void exitSource(String previous) {
+        if (previous == null) {
+            CURRENT_SOURCE.remove();
+        }
+    }
+
+    static void recordStatement(String sql, long elapsedNanos) {
+        Deque<Recording> recordings = RECORDINGS.get();
+        if (recordings == null) {
+            return;
+        }
+        String source = CURRENT_SOURCE.get() != null ? CURRENT_SOURCE.get() : UNATTRIBUTED;
+        for (Recording recording : recordings) {
+            recording.statement(source, sql, elapsedNanos);
+        }
+    }
+
+    static void recordRow() {
+        Deque<Recording> recordings = RECORDINGS.get();
+        if (recordings == null) {
+            return;
+        }
+        for (Recording recording : recordings) {
+            recording.rows++;
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final String name;
+        private final Map<String, Integer> statementsBySource = new LinkedHashMap<>();
+        private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+        private int statements;
+        private long rows;
+        private long elapsedNanos;
+
+        private Recording(String name) {
+            this.name = name;
+        }
+
+        private void statement(String source, String sql, long nanos) {
+            statements++;
+            elapsedNanos += nanos;
+            statementsBySource.merge(source, 1, Integer::sum);
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        public Map<String, Integer> getStatementsBySource() {
+            return Map.copyOf(statementsBySource);
+        }
+
+        public Map<String, Integer> repeatedStatements(int threshold) {
+            return executionsBySql.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        public Recording assertStatementsAtMost(int maxStatements) {
+            if (statements > maxStatements) {
+                throw new SqlBudgetExceededException(
+                        name + " ran " + statements + " SQL statements, budget is " + maxStatements + ". " + summary()
+                );
+            }
+            return this;
+        }
+
+        public Recording assertNoRepeatedStatements(int threshold) {
+            Map<String, Integer> repeated = repeatedStatements(threshold);
+            if (!repeated.isEmpty()) {
+                throw new SqlBudgetExceededException(
+                        name + " repeated statements, likely N+1: " + repeated + ". " + summary()
+                );
+            }
+            return this;
+        }
+
+        public String summary() {
+            return statements + " statements, " + rows + " rows, " + getElapsedMillis() + " ms; by source "
+                    + statementsBySource;
+        }
+
+        @Override
+        public void close() {
+            Deque<Recording> recordings = RECORDINGS.get();
+            if (recordings == null) {
+                return;
+            }
+            recordings.remove(this);
+            if (recordings.isEmpty()) {
+                RECORDINGS.remove();
+            }
+        }
+    }
+}
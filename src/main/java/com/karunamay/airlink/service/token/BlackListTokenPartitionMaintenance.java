@@ -0,0 +1,104 @@
+package com.karunamay.airlink.service.token;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlackListTokenPartitionMaintenance {
+
+    private static final String TABLE = "blacklist_token";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.jwt.refreshTokenExpirationInSec}")
+    private String refreshTokenExpirationInSec;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        runMaintenance();
+    }
+
+    @Scheduled(cron = "${app.blacklist.maintenanceCron}")
+    public void runMaintenance() {
+        LocalDate today = LocalDate.now();
+        int daysAhead = (int) Math.ceil(Long.parseLong(refreshTokenExpirationInSec) / 86400.0) + 1;
+
+        for (int i = 0; i <= daysAhead; i++) {
+            LocalDate day = today.plusDays(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(day));
+            } catch (DataAccessException e) {
+                log.warn("Could not create blacklist token partition for {}: {}", day, e.getMessage());
+            }
+        }
+
+        int dropped = 0;
+        for (String partition : findDailyPartitions()) {
+            LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (day.isBefore(today)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+            }
+        }
+
+        int purged = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE expired_at < ?", today);
+
+        log.info(
+                "Blacklist token maintenance done: {} expired partitions dropped, {} stray rows purged",
+                dropped,
+                purged
+        );
+    }
+
+    private void createPartition(LocalDate day) {
+        String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        // Rows that landed in the default partition for this day must move before the range can be attached.
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+        jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE expired_at = ? RETURNING *) " +
+                        "INSERT INTO " + partition + " SELECT * FROM moved",
+                day
+        );
+        jdbcTemplate.execute(
+                "ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition +
+                        " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')"
+        );
+        log.debug("Created partition {}", partition);
+    }
+
+    private List<String> findDailyPartitions() {
+        return jdbcTemplate.queryForList(
+                """
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                """,
+                String.class,
+                TABLE
+        ).stream().filter(name -> name.startsWith(PARTITION_PREFIX)).toList();
+    }
+}
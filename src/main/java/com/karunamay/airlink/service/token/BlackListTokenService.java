@@ -1,6 +1,13 @@
 package com.karunamay.airlink.service.token;
 
+import com.karunamay.airlink.model.user.User;
+
+import java.util.Date;
+
 public interface BlackListTokenService {
 
+    void revoke(String tokenId, User user, Date expiresAt);
+
+    boolean isRevoked(String tokenId);
 
 }
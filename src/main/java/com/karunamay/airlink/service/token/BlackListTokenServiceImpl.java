@@ -0,0 +1,52 @@
+package com.karunamay.airlink.service.token;
+
+import com.karunamay.airlink.model.token.BlackListToken;
+import com.karunamay.airlink.model.user.User;
+import com.karunamay.airlink.repository.token.BlackListTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BlackListTokenServiceImpl implements BlackListTokenService {
+
+    private final BlackListTokenRepository blackListTokenRepository;
+
+    @Override
+    public void revoke(String tokenId, User user, Date expiresAt) {
+        LocalDate expiryDate = expiresAt
+                .toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate();
+
+        if (blackListTokenRepository.existsActiveByTokenId(tokenId, expiryDate)) {
+            log.debug("Token {} is already revoked", tokenId);
+            return;
+        }
+
+        blackListTokenRepository.save(
+                BlackListToken.builder()
+                        .tokenId(tokenId)
+                        .user(user)
+                        .expiryDate(expiryDate)
+                        .build()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || tokenId.isBlank()) {
+            return false;
+        }
+        return blackListTokenRepository.existsActiveByTokenId(tokenId, LocalDate.now());
+    }
+}
@@ -0,0 +1,14 @@
+package com.karunamay.airlink.service.token;
+
+import com.karunamay.airlink.model.user.User;
+import io.jsonwebtoken.Claims;
+
+public interface RefreshTokenService {
+
+    String issue(User user);
+
+    String rotate(Claims refreshTokenClaims, User user);
+
+    void revoke(Claims refreshTokenClaims, User user);
+
+}
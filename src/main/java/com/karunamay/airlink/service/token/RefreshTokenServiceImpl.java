@@ -0,0 +1,108 @@
+package com.karunamay.airlink.service.token;
+
+import com.karunamay.airlink.exceptions.JwtAuthenticationException;
+import com.karunamay.airlink.model.token.RefreshTokenFamily;
+import com.karunamay.airlink.model.user.User;
+import com.karunamay.airlink.repository.token.RefreshTokenFamilyRepository;
+import com.karunamay.airlink.service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final BlackListTokenService blackListTokenService;
+    private final JwtTokenProvider jwt;
+
+    @Value("${app.jwt.refreshTokenExpirationInSec}")
+    private String refreshTokenExpirationInSec;
+
+    @Value("${app.refreshToken.absoluteLifetimeInSec}")
+    private long absoluteLifetimeInSec;
+
+    @Override
+    public String issue(User user) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = nextExpiry();
+        LocalDateTime absoluteExpiresAt = LocalDateTime.now().plusSeconds(absoluteLifetimeInSec);
+
+        refreshTokenFamilyRepository.save(
+                RefreshTokenFamily.builder()
+                        .id(familyId)
+                        .currentTokenId(tokenId)
+                        .user(user)
+                        .expiresAt(expiresAt.isBefore(absoluteExpiresAt) ? expiresAt : absoluteExpiresAt)
+                        .absoluteExpiresAt(absoluteExpiresAt)
+                        .build()
+        );
+
+        return jwt.generateRefreshToken(user.getUsername(), familyId, tokenId);
+    }
+
+    // Reuse revokes the family, so the surrounding transaction must still commit when rejecting the token.
+    @Override
+    @Transactional(noRollbackFor = JwtAuthenticationException.class)
+    public String rotate(Claims refreshTokenClaims, User user) {
+        String familyId = refreshTokenClaims.get(JwtTokenProvider.FAMILY_CLAIM, String.class);
+        String tokenId = refreshTokenClaims.getId();
+
+        if (familyId == null) {
+            return migrateLegacyToken(refreshTokenClaims, user);
+        }
+
+        String nextTokenId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        int rotated = refreshTokenFamilyRepository.rotate(familyId, tokenId, nextTokenId, nextExpiry(), now);
+
+        if (rotated == 0) {
+            if (refreshTokenFamilyRepository.revoke(familyId, now) > 0) {
+                log.warn("Refresh token reuse detected, revoked family {} of user id {}", familyId, user.getId());
+            }
+            throw new JwtAuthenticationException("Invalid or expired refresh token");
+        }
+
+        return jwt.generateRefreshToken(user.getUsername(), familyId, nextTokenId);
+    }
+
+    @Override
+    public void revoke(Claims refreshTokenClaims, User user) {
+        String familyId = refreshTokenClaims.get(JwtTokenProvider.FAMILY_CLAIM, String.class);
+        if (familyId == null) {
+            blackListTokenService.revoke(refreshTokenClaims.getId(), user, refreshTokenClaims.getExpiration());
+            return;
+        }
+        refreshTokenFamilyRepository.revoke(familyId, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${app.refreshToken.purgeCron}")
+    public void purgeExpired() {
+        int purged = refreshTokenFamilyRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh token families", purged);
+    }
+
+    // Tokens issued before rotation existed carry no family; exchange them once and blacklist the original.
+    private String migrateLegacyToken(Claims refreshTokenClaims, User user) {
+        if (blackListTokenService.isRevoked(refreshTokenClaims.getId())) {
+            throw new JwtAuthenticationException("Invalid or expired refresh token");
+        }
+        blackListTokenService.revoke(refreshTokenClaims.getId(), user, refreshTokenClaims.getExpiration());
+        return issue(user);
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plusSeconds(Long.parseLong(refreshTokenExpirationInSec));
+    }
+}
@@ -0,0 +1,57 @@
+package com.karunamay.airlink.service.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+// Class and method go on the span as high-cardinality keys only, so the derived airlink.method timer
+// keeps one series per layer.
+public class MethodObservationInterceptor implements MethodInterceptor {
+
+    private final SingletonSupplier<ObservationRegistry> observationRegistry;
+    private final String layer;
+    private final String owner;
+
+    // owner is null when the invoked bean's own class names the span.
+    public MethodObservationInterceptor(
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            String layer,
+            String owner
+    ) {
+        this.observationRegistry = SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        this.layer = layer;
+        this.owner = owner;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ObservationRegistry registry = observationRegistry.obtain();
+        if (registry.isNoop()) {
+            return invocation.proceed();
+        }
+
+        String type = owner != null
+                ? owner
+                : ClassUtils.getUserClass(AopUtils.getTargetClass(invocation.getThis())).getSimpleName();
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted("airlink.method", registry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue("layer", layer)
+                .highCardinalityKeyValue("code.namespace", type)
+                .highCardinalityKeyValue("code.function", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.karunamay.airlink.service.tracing;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class RecentTracesEndpoint {
+
+    private final RecentSpanExporter recentSpanExporter;
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        return recentSpanExporter.snapshot().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(TraceSummary::startedAt).reversed())
+                .toList();
+    }
+
+    @ReadOperation
+    public List<SpanView> trace(@Selector String traceId) {
+        return recentSpanExporter.snapshot().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(RecentTracesEndpoint::view)
+                .toList();
+    }
+
+    // The root may have been evicted or still be open, in which case the earliest span stands in for it.
+    private static TraceSummary summarize(String traceId, List<SpanData> spans) {
+        SpanData root = spans.stream()
+                .filter(span -> !span.getParentSpanContext().isValid())
+                .findFirst()
+                .orElseGet(() -> spans.stream().min(Comparator.comparingLong(SpanData::getStartEpochNanos)).orElseThrow());
+        long start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElseThrow();
+        long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElseThrow();
+        return new TraceSummary(
+                traceId,
+                root.getName(),
+                toInstant(start),
+                (end - start) / 1_000_000.0,
+                spans.size(),
+                spans.stream().anyMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR)
+        );
+    }
+
+    private static SpanView view(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new SpanView(
+                span.getSpanId(),
+                span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                span.getName(),
+                span.getKind().name(),
+                toInstant(span.getStartEpochNanos()),
+                (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0,
+                span.getStatus().getStatusCode() == StatusCode.ERROR,
+                attributes
+        );
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    public record TraceSummary(
+            String traceId,
+            String rootSpan,
+            Instant startedAt,
+            double durationMs,
+            int spanCount,
+            boolean error
+    ) {
+    }
+
+    public record SpanView(
+            String spanId,
+            String parentSpanId,
+            String name,
+            String kind,
+            Instant startedAt,
+            double durationMs,
+            boolean error,
+            Map<String, String> attributes
+    ) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.karunamay.airlink.service.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Carries the W3C traceparent across a hand-off that outlives the request, such as the webhook inbox,
+// so the deferred work shows up in the trace that produced it.
+@Component
+public class TraceParentCarrier {
+
+    private static final String TRACEPARENT = "traceparent";
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public TraceParentCarrier(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    public String current() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        Map<String, String> carrier = new HashMap<>();
+        propagator.inject(span.context(), carrier, Map::put);
+        return carrier.get(TRACEPARENT);
+    }
+
+    public void continueTrace(String traceParent, String name, Map<String, String> tags, Runnable work) {
+        Span.Builder builder = traceParent != null
+                ? propagator.extract(Map.of(TRACEPARENT, traceParent), Map::get)
+                : tracer.spanBuilder();
+        builder.name(name).kind(Span.Kind.CONSUMER);
+        tags.forEach(builder::tag);
+        Span span = builder.start();
+
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            work.run();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
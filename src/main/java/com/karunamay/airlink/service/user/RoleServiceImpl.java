@@ -42,8 +42,8 @@ public class RoleServiceImpl implements RoleService {
     @Override
     public RoleResponseDTO getRoleByName(String name) {
         log.info("Fetch role for name {}", name);
-        Role role = roleRepository
-                .findByName(name)
+        Role role = baseService
+                .findByNaturalId(Role.class, name)
                 .orElseThrow(() -> new ResourceNotFoundException("Role with name " + name + " not found"));
         return roleMapper.toResponseDTO(role);
     }
@@ -7,26 +7,26 @@ import com.karunamay.airlink.exceptions.DuplicateResourceException;
 import com.karunamay.airlink.exceptions.JwtAuthenticationException;
 import com.karunamay.airlink.exceptions.ResourceNotFoundException;
 import com.karunamay.airlink.mapper.user.UserMapper;
-import com.karunamay.airlink.model.token.BlackListToken;
 import com.karunamay.airlink.model.user.Role;
 import com.karunamay.airlink.model.user.User;
-import com.karunamay.airlink.repository.token.BlackListTokenRepository;
 import com.karunamay.airlink.repository.user.RoleRepository;
 import com.karunamay.airlink.repository.user.UserRepository;
+import com.karunamay.airlink.service.BaseService;
 import com.karunamay.airlink.service.security.JwtTokenProvider;
+import com.karunamay.airlink.service.security.PasswordHashingService;
+import com.karunamay.airlink.service.token.BlackListTokenService;
+import com.karunamay.airlink.service.token.RefreshTokenService;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,34 +35,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
-    private final BlackListTokenRepository blackListTokenRepository;
+    private final BlackListTokenService blackListTokenService;
+    private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwt;
+    private final BaseService baseService;
+    private final TransactionTemplate transactionTemplate;
+
+    private record StoredCredentials(Long userId, String passwordHash, boolean accountNonLocked) {
+    }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RegistrationResponseDTO registerUser(
             RegistrationRequestDTO requestDTO
     ) {
-        log.info(
-                "Registering new user with username {} and password {}",
-                requestDTO.getUsername(),
-                requestDTO.getPassword()
-        );
+        log.info("Registering new user with username {}", requestDTO.getUsername());
 
-        User user = userMapper.toEntity(requestDTO);
-        user.setPassword(passwordEncoder.encode(requestDTO.getPassword()));
+        // Hashed before the transaction opens, so the BCrypt wait does not hold a pooled connection.
+        String passwordHash = passwordHashingService.encode(requestDTO.getPassword());
 
-        Role defaultRole = roleRepository
-                .findByName("ROLE_USER")
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Default role not found")
-                );
-        user.addRole(defaultRole);
+        User user = transactionTemplate.execute(status -> {
+            User newUser = userMapper.toEntity(requestDTO);
+            newUser.setPassword(passwordHash);
 
-        userRepository.save(user);
+            Role defaultRole = baseService
+                    .findByNaturalId(Role.class, "ROLE_USER")
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Default role not found")
+                    );
+            newUser.addRole(defaultRole);
+
+            return userRepository.save(newUser);
+        });
 
         log.info(
                 "User registered successfully with id: {} username: {}",
@@ -166,57 +174,81 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthenticationResponseDTO authenticateUser(
             UserLoginRequestDTO credentials
     ) {
         log.info("Authenticating user: {}", credentials.getEmail());
-        User user = userRepository
-                .findByEmail(credentials.getEmail())
-                .orElseThrow(() -> new BusinessException("Invalid Credentials"));
-
-        if (!user.isAccountNonLocked()) {
+        StoredCredentials stored = readOnlyTransaction().execute(status -> {
+            User user = userRepository
+                    .findByEmail(credentials.getEmail())
+                    .orElseThrow(() -> new BusinessException("Invalid Credentials"));
+            return new StoredCredentials(user.getId(), user.getPassword(), user.isAccountNonLocked());
+        });
+
+        if (!stored.accountNonLocked()) {
             throw new BusinessException("Account is locked");
         }
 
+        // Verified and rehashed with no transaction open, so the BCrypt wait does not hold a pooled connection.
         if (
-                !passwordEncoder.matches(
+                !passwordHashingService.matches(
                         credentials.getPassword(),
-                        user.getPassword()
+                        stored.passwordHash()
                 )
         ) {
             throw new BusinessException("Invalid Credentials");
         }
 
-        user.updateLastLogin();
-        userRepository.save(user);
+        String rehashed = null;
+        if (passwordHashingService.needsRehash(stored.passwordHash())) {
+            log.info("Rehashing password for user id {} with current cost", stored.userId());
+            rehashed = passwordHashingService.encode(credentials.getPassword());
+        }
+        String newHash = rehashed;
+
+        record Login(String username, String refreshToken, UserResponseDTO user) {
+        }
+        Login login = transactionTemplate.execute(status -> {
+            User user = findUserByIdOrThrow(stored.userId());
+            // The hash may have come from a lagging replica or changed while hashing; only the current one counts.
+            if (!user.getPassword().equals(stored.passwordHash())) {
+                throw new BusinessException("Invalid Credentials");
+            }
+            if (newHash != null) {
+                user.setPassword(newHash);
+            }
+            user.updateLastLogin();
+            userRepository.save(user);
+            return new Login(user.getUsername(), refreshTokenService.issue(user), userMapper.toBasicResponseDTO(user));
+        });
 
-        String accessToken = jwt.generateAccessToken(user.getUsername());
-        String refreshToken = jwt.generateRefreshToken(user.getUsername());
+        String accessToken = jwt.generateAccessToken(login.username());
         Long expiresIn =
                 jwt.getExpirationDateFromToken(accessToken).getTime() / 1000;
-        UserResponseDTO userResponseDTO = userMapper.toBasicResponseDTO(user);
 
         AuthenticationResponseDTO authenticationResponse =
                 AuthenticationResponseDTO.builder()
                         .accessToken(accessToken)
-                        .refreshToken(refreshToken)
+                        .refreshToken(login.refreshToken())
                         .tokenType("Bearer")
                         .expiresIn(expiresIn)
-                        .user(userResponseDTO)
+                        .user(login.user())
                         .build();
 
-        log.info("User authenticated successfully: {}", user.getEmail());
+        log.info("User authenticated successfully: {}", credentials.getEmail());
         return authenticationResponse;
     }
 
     @Override
     public UserResponseDTO checkAuth(String accessToken) {
-        Optional<BlackListToken> isBlackListedToken =
-                blackListTokenRepository.findByTokenId(accessToken);
-        if (accessToken == null || accessToken.isBlank() || isBlackListedToken.isPresent()) {
+        if (accessToken == null || accessToken.isBlank()) {
             throw new BusinessException("Invalid credentials. Please login.");
         }
         Claims claims = jwt.validateAndParseClaims(accessToken).getPayload();
+        if (blackListTokenService.isRevoked(claims.getId())) {
+            throw new BusinessException("Invalid credentials. Please login.");
+        }
         String username = claims.getSubject();
         return userMapper.toBasicResponseDTO(
                 findUserByUsernameOrThrow(username)
@@ -224,6 +256,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(noRollbackFor = JwtAuthenticationException.class)
     public AuthenticationResponseDTO refreshToken(String refreshToken) {
         log.info("Refreshing token");
 
@@ -233,10 +266,14 @@ public class UserServiceImpl implements UserService {
             );
         }
 
-        String username = jwt
-                .validateAndParseClaims(refreshToken)
-                .getPayload()
-                .getSubject();
+        Claims claims = jwt.validateAndParseClaims(refreshToken).getPayload();
+        if (!"refresh".equals(claims.get("type", String.class))) {
+            throw new JwtAuthenticationException(
+                    "Invalid or expired refresh token"
+            );
+        }
+
+        String username = claims.getSubject();
 
         User user = userRepository
                 .findByUsername(username)
@@ -248,6 +285,7 @@ public class UserServiceImpl implements UserService {
             );
         }
 
+        String newRefreshToken = refreshTokenService.rotate(claims, user);
         String newAccessToken = jwt.generateAccessToken(username);
         Long expiresIn =
                 jwt.getExpirationDateFromToken(newAccessToken).getTime() / 1000;
@@ -256,7 +294,7 @@ public class UserServiceImpl implements UserService {
 
         return AuthenticationResponseDTO.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(refreshToken)
+                .refreshToken(newRefreshToken)
                 .tokenType("Bearer")
                 .expiresIn(expiresIn)
                 .user(userMapper.toResponseDTO(user))
@@ -264,6 +302,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(Long id, PasswordChangeRequestDTO requestDTO) {
         log.info("Change password for user with id: {}", id);
 
@@ -275,27 +314,38 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("Both passwords didn't match");
         }
 
-        User user = findUserByIdOrThrow(id);
+        StoredCredentials stored = readOnlyTransaction().execute(status -> {
+            User user = findUserByIdOrThrow(id);
+            return new StoredCredentials(user.getId(), user.getPassword(), user.isAccountNonLocked());
+        });
 
-        if (!user.isAccountNonLocked()) {
+        if (!stored.accountNonLocked()) {
             throw new BusinessException("Account is locked");
         }
 
         if (
-                !passwordEncoder.matches(
+                !passwordHashingService.matches(
                         requestDTO.getCurrentPassword(),
-                        user.getPassword()
+                        stored.passwordHash()
                 )
         ) {
             throw new BusinessException("Current password is incorrect");
         }
+        String newHash = passwordHashingService.encode(requestDTO.getNewPassword());
 
-        user.setPassword(passwordEncoder.encode(requestDTO.getNewPassword()));
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = findUserByIdOrThrow(id);
+            // Another change landed while hashing; the current password verified above is no longer current.
+            if (!user.getPassword().equals(stored.passwordHash())) {
+                throw new BusinessException("Current password is incorrect");
+            }
+            user.setPassword(newHash);
+            userRepository.save(user);
+        });
 
         log.info(
                 "Password changed successfully for user with id {}",
-                user.getId()
+                id
         );
     }
 
@@ -317,32 +367,8 @@ public class UserServiceImpl implements UserService {
         String username = accessTokenClaims.getSubject();
         User user = findUserByUsernameOrThrow(username);
 
-        LocalDate accessTokenExpiry = jwt
-                .getExpirationDateFromToken(accessToken)
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDate();
-
-        LocalDate refreshTokenExpiry = jwt
-                .getExpirationDateFromToken(refreshToken)
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDate();
-
-        BlackListToken accToken = BlackListToken.builder()
-                .tokenId(accessTokenClaims.getId())
-                .user(user)
-                .expiryDate(accessTokenExpiry)
-                .build();
-
-        BlackListToken refToken = BlackListToken.builder()
-                .tokenId(refreshTokenClaims.getId())
-                .user(user)
-                .expiryDate(refreshTokenExpiry)
-                .build();
-
-        blackListTokenRepository.save(accToken);
-        blackListTokenRepository.save(refToken);
+        blackListTokenService.revoke(accessTokenClaims.getId(), user, accessTokenClaims.getExpiration());
+        refreshTokenService.revoke(refreshTokenClaims, user);
 
         log.info(
                 "Access token has been blacklisted for user with id {}",
@@ -438,6 +464,12 @@ public class UserServiceImpl implements UserService {
         log.info("Email verified successfully");
     }
 
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction;
+    }
+
     private User findUserByIdOrThrow(Long id) {
         return userRepository
                 .findById(id)
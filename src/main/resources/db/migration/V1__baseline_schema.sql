@@ -0,0 +1,243 @@
+-- Baseline matching the JPA entities. Every statement is idempotent so databases that were previously
+-- managed by ddl-auto=update can be migrated in place (see spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS permission (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    resource    VARCHAR(50),
+    action      VARCHAR(50),
+    is_active   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_permission_name UNIQUE (name)
+);
+CREATE INDEX IF NOT EXISTS name ON permission (name);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(50)  NOT NULL,
+    description    VARCHAR(255),
+    is_active      BOOLEAN      NOT NULL,
+    is_system_role BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_role_name UNIQUE (name)
+);
+CREATE INDEX IF NOT EXISTS idx_name ON roles (name);
+
+CREATE TABLE IF NOT EXISTS roles_permission (
+    role_id       BIGINT NOT NULL REFERENCES roles (id),
+    permission_id BIGINT NOT NULL REFERENCES permission (id),
+    PRIMARY KEY (role_id, permission_id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id                         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                   VARCHAR(255) NOT NULL,
+    email                      VARCHAR(100) NOT NULL,
+    password                   VARCHAR(255) NOT NULL,
+    first_name                 VARCHAR(50),
+    last_name                  VARCHAR(50),
+    phone                      VARCHAR(10),
+    date_of_birth              DATE,
+    is_enabled                 BOOLEAN      NOT NULL,
+    is_account_non_expired     BOOLEAN      NOT NULL,
+    is_account_non_locked      BOOLEAN      NOT NULL,
+    is_credentials_non_expired BOOLEAN      NOT NULL,
+    email_verified             BOOLEAN      NOT NULL,
+    last_login                 TIMESTAMP(6),
+    created_at                 TIMESTAMP(6) NOT NULL,
+    updated_at                 TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_email UNIQUE (email),
+    CONSTRAINT uk_username UNIQUE (username)
+);
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_username ON users (username);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS airlines (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code       VARCHAR(2)   NOT NULL,
+    name       VARCHAR(60)  NOT NULL,
+    country    VARCHAR(40)  NOT NULL,
+    logo_url   VARCHAR(255),
+    is_active  BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_airline_code UNIQUE (code),
+    CONSTRAINT uk_airline_name UNIQUE (name)
+);
+CREATE INDEX IF NOT EXISTS idx_airline_name ON airlines (name);
+CREATE INDEX IF NOT EXISTS idx_airline_country ON airlines (country);
+
+CREATE TABLE IF NOT EXISTS aircrafts (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    model               VARCHAR(50)  NOT NULL,
+    registration_number VARCHAR(7)   NOT NULL,
+    capacity            INTEGER      NOT NULL,
+    is_active           BOOLEAN      NOT NULL,
+    aircraft_airline_id BIGINT       NOT NULL REFERENCES airlines (id),
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_aircraft_registration_number UNIQUE (registration_number)
+);
+CREATE INDEX IF NOT EXISTS idx_aircraft_model ON aircrafts (model);
+CREATE INDEX IF NOT EXISTS idx_aircraft_capacity ON aircrafts (capacity);
+
+CREATE TABLE IF NOT EXISTS airports (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code       VARCHAR(4)   NOT NULL,
+    name       VARCHAR(40)  NOT NULL,
+    city       VARCHAR(40)  NOT NULL,
+    country    VARCHAR(40),
+    is_active  BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_airport_code UNIQUE (code)
+);
+CREATE INDEX IF NOT EXISTS idx_airport_name ON airports (name);
+CREATE INDEX IF NOT EXISTS idx_airport_code ON airports (code);
+CREATE INDEX IF NOT EXISTS idx_airport_city ON airports (city);
+
+CREATE TABLE IF NOT EXISTS flights (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    airline_id             BIGINT         NOT NULL REFERENCES airlines (id),
+    aircraft_id            BIGINT         NOT NULL REFERENCES aircrafts (id),
+    source_airport_id      BIGINT         NOT NULL REFERENCES airports (id),
+    destination_airport_id BIGINT         NOT NULL REFERENCES airports (id),
+    flight_no              VARCHAR(10)    NOT NULL,
+    departure_time         TIMESTAMP(6)   NOT NULL,
+    arrival_time           TIMESTAMP(6)   NOT NULL,
+    base_price             NUMERIC(10, 2) NOT NULL,
+    status                 VARCHAR(20)    NOT NULL,
+    created_at             TIMESTAMP(6)   NOT NULL,
+    updated_at             TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_flight_no UNIQUE (flight_no)
+);
+CREATE INDEX IF NOT EXISTS idx_flight_departure ON flights (departure_time);
+CREATE INDEX IF NOT EXISTS idx_flight_route ON flights (source_airport_id, destination_airport_id);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT         NOT NULL REFERENCES users (id),
+    flight_id       BIGINT         NOT NULL REFERENCES flights (id),
+    total_amount    NUMERIC(10, 2) NOT NULL,
+    passenger_count INTEGER        NOT NULL,
+    booking_status  VARCHAR(20)    NOT NULL,
+    payment_status  VARCHAR(20)    NOT NULL,
+    pnr_code        VARCHAR(10)    NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_booking_pnr_code UNIQUE (pnr_code)
+);
+CREATE INDEX IF NOT EXISTS idx_booking_user ON bookings (user_id);
+CREATE INDEX IF NOT EXISTS idx_booking_flight ON bookings (flight_id);
+CREATE INDEX IF NOT EXISTS idx_booking_status ON bookings (booking_status, payment_status);
+
+CREATE TABLE IF NOT EXISTS seats (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    flight_id      BIGINT        NOT NULL REFERENCES flights (id),
+    seat_no        VARCHAR(4)    NOT NULL,
+    seat_class     VARCHAR(20)   NOT NULL,
+    is_available   BOOLEAN       NOT NULL,
+    price_modifier NUMERIC(3, 2) NOT NULL,
+    booking_id     BIGINT REFERENCES bookings (id),
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT uk_flight_seat_no UNIQUE (flight_id, seat_no)
+);
+CREATE INDEX IF NOT EXISTS idx_seat_flight ON seats (flight_id);
+CREATE INDEX IF NOT EXISTS idx_seat_number ON seats (flight_id, seat_no);
+CREATE INDEX IF NOT EXISTS idx_seat_availability ON seats (flight_id, is_available, seat_class);
+
+CREATE TABLE IF NOT EXISTS passengers (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id        BIGINT REFERENCES bookings (id),
+    first_name        VARCHAR(100) NOT NULL,
+    middle_name       VARCHAR(100) NOT NULL,
+    last_name         VARCHAR(100) NOT NULL,
+    suffix            VARCHAR(5)   NOT NULL,
+    dob               DATE         NOT NULL,
+    gender            VARCHAR(10)  NOT NULL,
+    id_number         VARCHAR(255) NOT NULL,
+    email             VARCHAR(100) NOT NULL,
+    phone             VARCHAR(100) NOT NULL,
+    checked_bag_count INTEGER      NOT NULL,
+    seat_id           BIGINT       NOT NULL REFERENCES seats (id),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_passenger_seat UNIQUE (seat_id)
+);
+CREATE INDEX IF NOT EXISTS idx_passenger_booking ON passengers (booking_id);
+CREATE INDEX IF NOT EXISTS idx_passenger_seat ON passengers (seat_id);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_name  VARCHAR(100)   NOT NULL,
+    customer_email VARCHAR(120)   NOT NULL,
+    address_line_1 VARCHAR(200)   NOT NULL,
+    address_line_2 VARCHAR(200),
+    city           VARCHAR(100)   NOT NULL,
+    state          VARCHAR(100)   NOT NULL,
+    pin_code       VARCHAR(6)     NOT NULL,
+    session_id     VARCHAR(200)   NOT NULL,
+    payment_id     VARCHAR(200)   NOT NULL,
+    user_id        BIGINT         NOT NULL REFERENCES users (id),
+    booking_id     BIGINT         NOT NULL REFERENCES bookings (id),
+    total_amount   NUMERIC(38, 2) NOT NULL,
+    payment_status VARCHAR(255)   NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_order_session_id UNIQUE (session_id),
+    CONSTRAINT uk_order_payment_id UNIQUE (payment_id),
+    CONSTRAINT uk_order_booking_id UNIQUE (booking_id)
+);
+CREATE INDEX IF NOT EXISTS idx_order_user_id ON orders (user_id);
+CREATE INDEX IF NOT EXISTS idx_order_booking_id ON orders (booking_id);
+
+CREATE TABLE IF NOT EXISTS refresh_token_family (
+    id          VARCHAR(36)  PRIMARY KEY,
+    current_jti VARCHAR(36)  NOT NULL,
+    user_id     BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_user ON refresh_token_family (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_expires ON refresh_token_family (expires_at);
+
+CREATE TABLE IF NOT EXISTS stripe_webhook_event (
+    id              VARCHAR(100)  PRIMARY KEY,
+    type            VARCHAR(100)  NOT NULL,
+    booking_id      BIGINT,
+    payload         TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    claimed_at      TIMESTAMP(6),
+    processed_at    TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    received_at     TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_event_due ON stripe_webhook_event (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_event_booking ON stripe_webhook_event (booking_id, received_at);
+
+CREATE TABLE IF NOT EXISTS booking_checkout_session (
+    booking_id            BIGINT PRIMARY KEY REFERENCES bookings (id) ON DELETE CASCADE,
+    session_id            VARCHAR(200)                NOT NULL,
+    url                   VARCHAR(2048)               NOT NULL,
+    amount_in_minor_units BIGINT                      NOT NULL,
+    expires_at            TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at            TIMESTAMP(6)                NOT NULL,
+    updated_at            TIMESTAMP(6)                NOT NULL,
+    CONSTRAINT uk_booking_checkout_session_session_id UNIQUE (session_id)
+);
+CREATE INDEX IF NOT EXISTS idx_booking_checkout_session_expires ON booking_checkout_session (expires_at);
@@ -0,0 +1,42 @@
+-- Creates blacklist_token as a table range-partitioned by day, converting a legacy unpartitioned table
+-- (unexpired rows only) when one exists. Daily partitions are managed by BlackListTokenPartitionMaintenance.
+DO $$
+DECLARE
+    legacy BOOLEAN := to_regclass('blacklist_token') IS NOT NULL;
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM pg_partitioned_table pt
+        JOIN pg_class c ON c.oid = pt.partrelid
+        WHERE c.relname = 'blacklist_token' AND c.relnamespace = current_schema()::regnamespace
+    ) THEN
+        RETURN;
+    END IF;
+
+    IF legacy THEN
+        CREATE TEMP TABLE blacklist_token_live ON COMMIT DROP AS
+            SELECT id, jti, user_id, expired_at, created_at, updated_at FROM blacklist_token
+            WHERE expired_at >= CURRENT_DATE;
+        DROP TABLE blacklist_token CASCADE;
+    END IF;
+
+    CREATE SEQUENCE IF NOT EXISTS blacklist_token_id_seq;
+    CREATE TABLE blacklist_token (
+        id         BIGINT       NOT NULL DEFAULT nextval('blacklist_token_id_seq'),
+        jti        VARCHAR(255) NOT NULL,
+        user_id    BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+        expired_at DATE         NOT NULL,
+        created_at TIMESTAMP(6) NOT NULL,
+        updated_at TIMESTAMP(6) NOT NULL,
+        CONSTRAINT blacklist_token_pkey PRIMARY KEY (id, expired_at),
+        CONSTRAINT uk_blacklist_token_jti UNIQUE (jti, expired_at)
+    ) PARTITION BY RANGE (expired_at);
+    ALTER SEQUENCE blacklist_token_id_seq OWNED BY blacklist_token.id;
+    CREATE INDEX idx_blacklist_token_user ON blacklist_token (user_id);
+    CREATE TABLE blacklist_token_default PARTITION OF blacklist_token DEFAULT;
+
+    IF legacy THEN
+        INSERT INTO blacklist_token (id, jti, user_id, expired_at, created_at, updated_at)
+            SELECT id, jti, user_id, expired_at, created_at, updated_at FROM blacklist_token_live;
+        PERFORM setval('blacklist_token_id_seq', COALESCE((SELECT MAX(id) FROM blacklist_token), 0) + 1, false);
+    END IF;
+END $$;
@@ -0,0 +1,17 @@
+-- Available-seat counts in flight search only ever touch free seats.
+CREATE INDEX IF NOT EXISTS idx_seat_flight_available ON seats (flight_id) WHERE is_available;
+
+-- A user's bookings are listed newest first; the composite index supersedes the single-column one.
+CREATE INDEX IF NOT EXISTS idx_booking_user_created ON bookings (user_id, created_at);
+DROP INDEX IF EXISTS idx_booking_user;
+
+CREATE INDEX IF NOT EXISTS idx_order_payment_status_created ON orders (payment_status, created_at);
+
+-- Spring Data's *IgnoreCase finders compare upper(column) = upper(?), which plain b-tree indexes cannot serve.
+CREATE INDEX IF NOT EXISTS idx_airline_code_upper ON airlines (upper(code));
+CREATE INDEX IF NOT EXISTS idx_airline_name_upper ON airlines (upper(name));
+CREATE INDEX IF NOT EXISTS idx_aircraft_model_upper ON aircrafts (upper(model));
+CREATE INDEX IF NOT EXISTS idx_aircraft_registration_number_upper ON aircrafts (upper(registration_number));
+CREATE INDEX IF NOT EXISTS idx_airport_code_upper ON airports (upper(code));
+CREATE INDEX IF NOT EXISTS idx_airport_name_upper ON airports (upper(name));
+CREATE INDEX IF NOT EXISTS idx_airport_city_upper ON airports (upper(city));
@@ -0,0 +1,19 @@
+-- Identity columns force Hibernate to insert row by row to read back each key. Pooled sequences
+-- (INCREMENT BY must equal the entities' allocationSize) let it assign ids up front and batch inserts.
+DO $$
+DECLARE
+    t   TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'users', 'roles', 'permission', 'airlines', 'aircrafts', 'airports',
+        'flights', 'seats', 'bookings', 'passengers', 'orders', 'blacklist_token'
+    ] LOOP
+        seq := t || '_id_seq';
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I OWNED BY %I.id', seq, t);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', seq);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, seq);
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', seq, t);
+    END LOOP;
+END $$;
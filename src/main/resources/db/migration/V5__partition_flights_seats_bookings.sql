@@ -0,0 +1,180 @@
+-- flights and seats are range-partitioned by departure month, bookings by creation month. Searches filter on
+-- future departure_time, so the planner prunes every past month. Partitioned tables need the partition key in
+-- every unique constraint, and can only be referenced through one that includes it: seats carry the flight's
+-- departure_time so they keep a foreign key to flights, while references to bookings and seats by id alone
+-- are now enforced by the application. Requires PostgreSQL 15+ for cross-partition ON UPDATE CASCADE.
+
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, key_column TEXT, month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition   TEXT := parent || '_p' || to_char(month, 'YYYYMM');
+    upper_bound DATE := (month + INTERVAL '1 month')::DATE;
+    stray       BOOLEAN;
+BEGIN
+    IF to_regclass(partition) IS NOT NULL THEN
+        RETURN TRUE;
+    END IF;
+    -- Rows that already landed in the default partition would have to move, which foreign keys forbid.
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I >= %L AND %I < %L)',
+                   parent || '_default', key_column, month, key_column, upper_bound) INTO stray;
+    IF stray THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)', partition, parent, month, upper_bound);
+    RETURN TRUE;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE flights RENAME TO flights_legacy;
+ALTER TABLE seats RENAME TO seats_legacy;
+ALTER TABLE bookings RENAME TO bookings_legacy;
+
+CREATE TABLE flights (
+    id                     BIGINT         NOT NULL DEFAULT nextval('flights_id_seq'),
+    airline_id             BIGINT         NOT NULL,
+    aircraft_id            BIGINT         NOT NULL,
+    source_airport_id      BIGINT         NOT NULL,
+    destination_airport_id BIGINT         NOT NULL,
+    flight_no              VARCHAR(10)    NOT NULL,
+    departure_time         TIMESTAMP(6)   NOT NULL,
+    arrival_time           TIMESTAMP(6)   NOT NULL,
+    base_price             NUMERIC(10, 2) NOT NULL,
+    status                 VARCHAR(20)    NOT NULL,
+    created_at             TIMESTAMP(6)   NOT NULL,
+    updated_at             TIMESTAMP(6)   NOT NULL
+) PARTITION BY RANGE (departure_time);
+CREATE TABLE flights_default PARTITION OF flights DEFAULT;
+
+CREATE TABLE seats (
+    id             BIGINT        NOT NULL DEFAULT nextval('seats_id_seq'),
+    flight_id      BIGINT        NOT NULL,
+    seat_no        VARCHAR(4)    NOT NULL,
+    seat_class     VARCHAR(20)   NOT NULL,
+    is_available   BOOLEAN       NOT NULL,
+    price_modifier NUMERIC(3, 2) NOT NULL,
+    booking_id     BIGINT,
+    departure_time TIMESTAMP(6)  NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)  NOT NULL
+) PARTITION BY RANGE (departure_time);
+CREATE TABLE seats_default PARTITION OF seats DEFAULT;
+
+CREATE TABLE bookings (
+    id              BIGINT         NOT NULL DEFAULT nextval('bookings_id_seq'),
+    user_id         BIGINT         NOT NULL,
+    flight_id       BIGINT         NOT NULL,
+    total_amount    NUMERIC(10, 2) NOT NULL,
+    passenger_count INTEGER        NOT NULL,
+    booking_status  VARCHAR(20)    NOT NULL,
+    payment_status  VARCHAR(20)    NOT NULL,
+    pnr_code        VARCHAR(10)    NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)   NOT NULL
+) PARTITION BY RANGE (created_at);
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+DO $$
+DECLARE
+    this_month DATE := date_trunc('month', now())::DATE;
+    month      DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+            LEAST(date_trunc('month', (SELECT MIN(departure_time) FROM flights_legacy)), this_month),
+            this_month + INTERVAL '12 months',
+            INTERVAL '1 month'
+        )::DATE
+    LOOP
+        PERFORM create_monthly_partition('flights', 'departure_time', month);
+        PERFORM create_monthly_partition('seats', 'departure_time', month);
+    END LOOP;
+
+    FOR month IN
+        SELECT generate_series(
+            LEAST(date_trunc('month', (SELECT MIN(created_at) FROM bookings_legacy)), this_month),
+            this_month + INTERVAL '1 month',
+            INTERVAL '1 month'
+        )::DATE
+    LOOP
+        PERFORM create_monthly_partition('bookings', 'created_at', month);
+    END LOOP;
+END $$;
+
+INSERT INTO flights (id, airline_id, aircraft_id, source_airport_id, destination_airport_id, flight_no,
+                     departure_time, arrival_time, base_price, status, created_at, updated_at)
+SELECT id, airline_id, aircraft_id, source_airport_id, destination_airport_id, flight_no,
+       departure_time, arrival_time, base_price, status, created_at, updated_at
+FROM flights_legacy;
+
+INSERT INTO seats (id, flight_id, seat_no, seat_class, is_available, price_modifier, booking_id, departure_time,
+                   created_at, updated_at)
+SELECT s.id, s.flight_id, s.seat_no, s.seat_class, s.is_available, s.price_modifier, s.booking_id, f.departure_time,
+       s.created_at, s.updated_at
+FROM seats_legacy s
+JOIN flights_legacy f ON f.id = s.flight_id;
+
+INSERT INTO bookings (id, user_id, flight_id, total_amount, passenger_count, booking_status, payment_status,
+                      pnr_code, created_at, updated_at)
+SELECT id, user_id, flight_id, total_amount, passenger_count, booking_status, payment_status,
+       pnr_code, created_at, updated_at
+FROM bookings_legacy;
+
+-- Dropping the legacy tables takes the foreign keys that pointed at them along; the sequences must survive.
+ALTER SEQUENCE flights_id_seq OWNED BY NONE;
+ALTER SEQUENCE seats_id_seq OWNED BY NONE;
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+DROP TABLE seats_legacy CASCADE;
+DROP TABLE bookings_legacy CASCADE;
+DROP TABLE flights_legacy CASCADE;
+ALTER SEQUENCE flights_id_seq OWNED BY flights.id;
+ALTER SEQUENCE seats_id_seq OWNED BY seats.id;
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+ALTER TABLE flights ADD CONSTRAINT flights_pkey PRIMARY KEY (id, departure_time);
+ALTER TABLE flights ADD CONSTRAINT uk_flight_no UNIQUE (flight_no, departure_time);
+ALTER TABLE flights ADD CONSTRAINT fk_flight_airline FOREIGN KEY (airline_id) REFERENCES airlines (id);
+ALTER TABLE flights ADD CONSTRAINT fk_flight_aircraft FOREIGN KEY (aircraft_id) REFERENCES aircrafts (id);
+ALTER TABLE flights ADD CONSTRAINT fk_flight_source_airport FOREIGN KEY (source_airport_id) REFERENCES airports (id);
+ALTER TABLE flights ADD CONSTRAINT fk_flight_destination_airport
+    FOREIGN KEY (destination_airport_id) REFERENCES airports (id);
+CREATE INDEX idx_flight_departure ON flights (departure_time);
+CREATE INDEX idx_flight_route ON flights (source_airport_id, destination_airport_id, departure_time);
+
+ALTER TABLE seats ADD CONSTRAINT seats_pkey PRIMARY KEY (id, departure_time);
+ALTER TABLE seats ADD CONSTRAINT uk_flight_seat_no UNIQUE (flight_id, seat_no, departure_time);
+ALTER TABLE seats ADD CONSTRAINT fk_seat_flight
+    FOREIGN KEY (flight_id, departure_time) REFERENCES flights (id, departure_time) ON UPDATE CASCADE;
+CREATE INDEX idx_seat_flight ON seats (flight_id);
+CREATE INDEX idx_seat_number ON seats (flight_id, seat_no);
+CREATE INDEX idx_seat_availability ON seats (flight_id, is_available, seat_class);
+CREATE INDEX idx_seat_flight_available ON seats (flight_id) WHERE is_available;
+CREATE INDEX idx_seat_booking ON seats (booking_id);
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE bookings ADD CONSTRAINT uk_booking_pnr_code UNIQUE (pnr_code, created_at);
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users (id);
+CREATE INDEX idx_booking_user_created ON bookings (user_id, created_at);
+CREATE INDEX idx_booking_flight ON bookings (flight_id);
+CREATE INDEX idx_booking_status ON bookings (booking_status, payment_status);
+
+-- Departed flights and everything hanging off them move here once past the retention window. Unpartitioned
+-- and lightly indexed: they are only read for support lookups and reporting.
+CREATE TABLE flights_archive (LIKE flights);
+ALTER TABLE flights_archive ADD PRIMARY KEY (id);
+
+CREATE TABLE seats_archive (LIKE seats);
+ALTER TABLE seats_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_seat_archive_flight ON seats_archive (flight_id);
+
+CREATE TABLE bookings_archive (LIKE bookings);
+ALTER TABLE bookings_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_booking_archive_user ON bookings_archive (user_id);
+CREATE INDEX idx_booking_archive_pnr_code ON bookings_archive (pnr_code);
+
+CREATE TABLE passengers_archive (LIKE passengers);
+ALTER TABLE passengers_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_passenger_archive_booking ON passengers_archive (booking_id);
+
+CREATE TABLE orders_archive (LIKE orders);
+ALTER TABLE orders_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_order_archive_user ON orders_archive (user_id);
+CREATE INDEX idx_order_archive_booking ON orders_archive (booking_id);
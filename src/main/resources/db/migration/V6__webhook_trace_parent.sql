@@ -0,0 +1,2 @@
+-- W3C traceparent of the request that received the event, so inbox processing joins the same trace.
+ALTER TABLE stripe_webhook_event ADD COLUMN trace_parent VARCHAR(55);
@@ -0,0 +1,4 @@
+-- Codes are stored upper-case and looked up by exact natural id. Rows saved in another case before that are
+-- normalised here; two codes differing only by case violate the unique constraint and must be merged by hand first.
+UPDATE airlines SET code = upper(code) WHERE code <> upper(code);
+UPDATE airports SET code = upper(code) WHERE code <> upper(code);
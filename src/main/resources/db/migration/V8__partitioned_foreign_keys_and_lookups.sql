@@ -0,0 +1,119 @@
+-- V5 dropped every foreign key into seats and bookings, and left PNR codes and flight numbers unique only per
+-- partition. A reference into a partitioned table has to include its partition key, so each referencing table
+-- gets a copy of the parent's key, filled by a trigger from the id the application writes; the application
+-- itself never maps these columns. MATCH FULL makes a dangling id fail instead of leaving the key NULL.
+
+ALTER TABLE bookings ADD COLUMN flight_departure_time TIMESTAMP(6);
+ALTER TABLE seats ADD COLUMN booking_created_at TIMESTAMP(6);
+ALTER TABLE passengers ADD COLUMN booking_created_at TIMESTAMP(6);
+ALTER TABLE passengers ADD COLUMN seat_departure_time TIMESTAMP(6);
+ALTER TABLE orders ADD COLUMN booking_created_at TIMESTAMP(6);
+ALTER TABLE booking_checkout_session ADD COLUMN booking_created_at TIMESTAMP(6);
+
+UPDATE bookings b SET flight_departure_time = f.departure_time FROM flights f WHERE f.id = b.flight_id;
+UPDATE seats s SET booking_created_at = b.created_at FROM bookings b WHERE b.id = s.booking_id;
+UPDATE passengers p SET booking_created_at = b.created_at FROM bookings b WHERE b.id = p.booking_id;
+UPDATE passengers p SET seat_departure_time = s.departure_time FROM seats s WHERE s.id = p.seat_id;
+UPDATE orders o SET booking_created_at = b.created_at FROM bookings b WHERE b.id = o.booking_id;
+UPDATE booking_checkout_session c SET booking_created_at = b.created_at FROM bookings b WHERE b.id = c.booking_id;
+
+CREATE FUNCTION fill_flight_departure_time() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT departure_time INTO NEW.flight_departure_time FROM flights WHERE id = NEW.flight_id;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION fill_booking_created_at() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT created_at INTO NEW.booking_created_at FROM bookings WHERE id = NEW.booking_id;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION fill_seat_departure_time() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT departure_time INTO NEW.seat_departure_time FROM seats WHERE id = NEW.seat_id;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_booking_flight_departure_time BEFORE INSERT OR UPDATE OF flight_id ON bookings
+    FOR EACH ROW EXECUTE FUNCTION fill_flight_departure_time();
+CREATE TRIGGER trg_seat_booking_created_at BEFORE INSERT OR UPDATE OF booking_id ON seats
+    FOR EACH ROW EXECUTE FUNCTION fill_booking_created_at();
+CREATE TRIGGER trg_passenger_booking_created_at BEFORE INSERT OR UPDATE OF booking_id ON passengers
+    FOR EACH ROW EXECUTE FUNCTION fill_booking_created_at();
+CREATE TRIGGER trg_passenger_seat_departure_time BEFORE INSERT OR UPDATE OF seat_id ON passengers
+    FOR EACH ROW EXECUTE FUNCTION fill_seat_departure_time();
+CREATE TRIGGER trg_order_booking_created_at BEFORE INSERT OR UPDATE OF booking_id ON orders
+    FOR EACH ROW EXECUTE FUNCTION fill_booking_created_at();
+CREATE TRIGGER trg_checkout_session_booking_created_at BEFORE INSERT OR UPDATE OF booking_id ON booking_checkout_session
+    FOR EACH ROW EXECUTE FUNCTION fill_booking_created_at();
+
+-- Departure changes already cascade from flights to seats; these carry them on to bookings and passengers.
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_flight
+    FOREIGN KEY (flight_id, flight_departure_time) REFERENCES flights (id, departure_time)
+    MATCH FULL ON UPDATE CASCADE;
+ALTER TABLE seats ADD CONSTRAINT fk_seat_booking
+    FOREIGN KEY (booking_id, booking_created_at) REFERENCES bookings (id, created_at) MATCH FULL;
+ALTER TABLE passengers ADD CONSTRAINT fk_passenger_booking
+    FOREIGN KEY (booking_id, booking_created_at) REFERENCES bookings (id, created_at) MATCH FULL;
+ALTER TABLE passengers ADD CONSTRAINT fk_passenger_seat
+    FOREIGN KEY (seat_id, seat_departure_time) REFERENCES seats (id, departure_time)
+    MATCH FULL ON UPDATE CASCADE;
+ALTER TABLE orders ADD CONSTRAINT fk_order_booking
+    FOREIGN KEY (booking_id, booking_created_at) REFERENCES bookings (id, created_at) MATCH FULL;
+ALTER TABLE booking_checkout_session ADD CONSTRAINT fk_checkout_session_booking
+    FOREIGN KEY (booking_id, booking_created_at) REFERENCES bookings (id, created_at)
+    MATCH FULL ON DELETE CASCADE;
+
+-- Global uniqueness for PNR codes. Rows outlive their booking, archived or deleted, so a code is never reissued.
+CREATE TABLE booking_pnr (
+    pnr_code   VARCHAR(10)  NOT NULL PRIMARY KEY,
+    booking_id BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+INSERT INTO booking_pnr (pnr_code, booking_id, created_at) SELECT pnr_code, id, created_at FROM bookings;
+INSERT INTO booking_pnr (pnr_code, booking_id, created_at)
+SELECT pnr_code, id, created_at FROM bookings_archive
+ON CONFLICT (pnr_code) DO NOTHING;
+
+CREATE FUNCTION reserve_booking_pnr() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO booking_pnr (pnr_code, booking_id, created_at) VALUES (NEW.pnr_code, NEW.id, NEW.created_at);
+    ELSIF NEW.pnr_code <> OLD.pnr_code THEN
+        UPDATE booking_pnr SET pnr_code = NEW.pnr_code WHERE booking_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_booking_pnr AFTER INSERT OR UPDATE OF pnr_code ON bookings
+    FOR EACH ROW EXECUTE FUNCTION reserve_booking_pnr();
+
+-- Global uniqueness for live flight numbers; archiving a flight releases its number.
+CREATE TABLE flight_number (
+    flight_no      VARCHAR(10)  NOT NULL PRIMARY KEY,
+    flight_id      BIGINT       NOT NULL,
+    departure_time TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_flight_number_flight UNIQUE (flight_id),
+    CONSTRAINT fk_flight_number_flight FOREIGN KEY (flight_id, departure_time) REFERENCES flights (id, departure_time)
+        ON UPDATE CASCADE ON DELETE CASCADE
+);
+INSERT INTO flight_number (flight_no, flight_id, departure_time) SELECT flight_no, id, departure_time FROM flights;
+
+CREATE FUNCTION reserve_flight_number() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO flight_number (flight_no, flight_id, departure_time) VALUES (NEW.flight_no, NEW.id, NEW.departure_time);
+    ELSIF NEW.flight_no <> OLD.flight_no THEN
+        UPDATE flight_number SET flight_no = NEW.flight_no WHERE flight_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_flight_number AFTER INSERT OR UPDATE OF flight_no ON flights
+    FOR EACH ROW EXECUTE FUNCTION reserve_flight_number();
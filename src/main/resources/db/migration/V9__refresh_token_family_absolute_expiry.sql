@@ -0,0 +1,5 @@
+-- Rotation slides expires_at forward, so each family also carries a hard end fixed when it is first issued.
+-- Existing families keep their current expiry as that end.
+ALTER TABLE refresh_token_family ADD COLUMN absolute_expires_at TIMESTAMP(6);
+UPDATE refresh_token_family SET absolute_expires_at = expires_at;
+ALTER TABLE refresh_token_family ALTER COLUMN absolute_expires_at SET NOT NULL;
@@ -0,0 +1,120 @@
+package com.karunamay.airlink.repository.payment;
+
+import com.karunamay.airlink.model.payment.StripeWebhookEvent;
+import com.karunamay.airlink.model.payment.WebhookEventStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// claimDue relies on row locks held across transactions, so every step commits on its own and the rows are
+// removed afterwards. They are dated in 2000 and claimed as of then, which keeps live events out of the result.
+@SpringBootTest
+class StripeWebhookEventRepositoryTests {
+
+    private static final LocalDateTime RECEIVED = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime CLAIM_AT = RECEIVED.plusHours(1);
+
+    @Autowired
+    private StripeWebhookEventRepository stripeWebhookEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String firstOfBooking;
+    private String secondOfBooking;
+    private String otherBooking;
+
+    @BeforeEach
+    void queueEvents() {
+        long bookingId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+        firstOfBooking = insert(bookingId, RECEIVED);
+        secondOfBooking = insert(bookingId, RECEIVED.plusSeconds(1));
+        otherBooking = insert(bookingId - 1, RECEIVED.plusSeconds(2));
+    }
+
+    @AfterEach
+    void removeEvents() {
+        transactionTemplate.executeWithoutResult(status ->
+                stripeWebhookEventRepository.deleteAllById(List.of(firstOfBooking, secondOfBooking, otherBooking))
+        );
+    }
+
+    @Test
+    void claimsOnlyTheOldestUnfinishedEventOfEachBooking() {
+        assertThat(claimIds(10)).containsExactly(firstOfBooking, otherBooking);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StripeWebhookEvent first = stripeWebhookEventRepository.findById(firstOfBooking).orElseThrow();
+            first.setStatus(WebhookEventStatus.PROCESSING);
+            first.setClaimedAt(CLAIM_AT);
+        });
+        // Still blocked while the earlier event of the same booking is being worked on.
+        assertThat(claimIds(10)).containsExactly(otherBooking);
+
+        transactionTemplate.executeWithoutResult(status ->
+                stripeWebhookEventRepository.findById(firstOfBooking).orElseThrow().setStatus(WebhookEventStatus.PROCESSED)
+        );
+        assertThat(claimIds(10)).containsExactly(secondOfBooking, otherBooking);
+    }
+
+    @Test
+    void concurrentClaimsSkipRowsLockedByAnotherWorker() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<String>> firstWorker = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<String> ids = stripeWebhookEventRepository.claimDue(CLAIM_AT, 1).stream()
+                            .map(StripeWebhookEvent::getId)
+                            .toList();
+                    claimed.countDown();
+                    await(release);
+                    return ids;
+                })
+        );
+
+        try {
+            assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+            // Returns at once instead of waiting on the first worker's lock.
+            assertThat(claimIds(10)).containsExactly(otherBooking);
+        } finally {
+            release.countDown();
+        }
+        assertThat(firstWorker.get(10, TimeUnit.SECONDS)).containsExactly(firstOfBooking);
+    }
+
+    private List<String> claimIds(int limit) {
+        return transactionTemplate.execute(status -> stripeWebhookEventRepository.claimDue(CLAIM_AT, limit).stream()
+                .map(StripeWebhookEvent::getId)
+                .toList());
+    }
+
+    private String insert(long bookingId, LocalDateTime receivedAt) {
+        String id = "evt_test_" + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> stripeWebhookEventRepository.insertIfAbsent(
+                id, "checkout.session.completed", bookingId, "{}", null, receivedAt
+        ));
+        return id;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
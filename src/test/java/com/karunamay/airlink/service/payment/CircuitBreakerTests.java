@@ -0,0 +1,116 @@
+package com.karunamay.airlink.service.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    private static final long START = 1_000_000_000L;
+    private static final long OPEN_DURATION = TimeUnit.SECONDS.toNanos(30);
+
+    // A window of four calls that opens at half of them failing, once all four have been seen.
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, 30);
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCalls() {
+        breaker.onFailure(START);
+        breaker.onFailure(START);
+        breaker.onFailure(START);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(START)).isTrue();
+    }
+
+    @Test
+    void opensOnceTheFailureRateReachesTheThreshold() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(START);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(START);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(START)).isFalse();
+    }
+
+    @Test
+    void failuresAgeOutOfTheWindow() {
+        breaker.onFailure(START);
+        for (int i = 0; i < 7; i++) {
+            breaker.onSuccess();
+        }
+
+        breaker.onFailure(START);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(START);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rejectsCallsUntilTheOpenDurationHasPassed() {
+        open();
+
+        assertThat(breaker.tryAcquire(START + OPEN_DURATION - 1)).isFalse();
+        assertThat(breaker.secondsUntilRetry(START + TimeUnit.SECONDS.toNanos(10))).isEqualTo(20);
+        assertThat(breaker.tryAcquire(START + OPEN_DURATION)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void halfOpenLetsASingleProbeThrough() {
+        open();
+
+        assertThat(breaker.tryAcquire(START + OPEN_DURATION)).isTrue();
+        assertThat(breaker.tryAcquire(START + OPEN_DURATION)).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesWithAFreshWindow() {
+        open();
+        breaker.tryAcquire(START + OPEN_DURATION);
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.onFailure(START + OPEN_DURATION);
+        breaker.onFailure(START + OPEN_DURATION);
+        breaker.onFailure(START + OPEN_DURATION);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensForAnotherFullDuration() {
+        open();
+        long probeAt = START + OPEN_DURATION;
+        breaker.tryAcquire(probeAt);
+
+        breaker.onFailure(probeAt);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(probeAt + OPEN_DURATION - 1)).isFalse();
+        assertThat(breaker.tryAcquire(probeAt + OPEN_DURATION)).isTrue();
+    }
+
+    @Test
+    void releasedProbeFreesTheSlotForAnother() {
+        open();
+        breaker.tryAcquire(START + OPEN_DURATION);
+
+        breaker.release();
+
+        assertThat(breaker.tryAcquire(START + OPEN_DURATION)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(START);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
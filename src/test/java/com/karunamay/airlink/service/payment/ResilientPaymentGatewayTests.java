@@ -0,0 +1,60 @@
+package com.karunamay.airlink.service.payment;
+
+import com.karunamay.airlink.exceptions.PaymentGatewayException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResilientPaymentGatewayTests {
+
+    @Test
+    void connectionFailuresAreProviderFaults() {
+        assertThat(ResilientPaymentGateway.isProviderFault(new ApiConnectionException("connection reset"))).isTrue();
+        assertThat(ResilientPaymentGateway.isProviderFault(new SocketTimeoutException("read timed out"))).isTrue();
+    }
+
+    @Test
+    void rateLimitingIsAProviderFault() {
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new RateLimitException("too many requests", null, "req_1", "rate_limit", 429, null)
+        )).isTrue();
+    }
+
+    @Test
+    void serverErrorsAndMissingStatusesAreProviderFaults() {
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new ApiException("internal error", "req_1", null, 500, null)
+        )).isTrue();
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new ApiException("no response", "req_1", null, null, null)
+        )).isTrue();
+    }
+
+    @Test
+    void clientErrorsAreNotProviderFaults() {
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new InvalidRequestException("no such session", "id", "req_1", "resource_missing", 404, null)
+        )).isFalse();
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new InvalidRequestException("bad amount", "amount", "req_1", "parameter_invalid", 400, null)
+        )).isFalse();
+    }
+
+    @Test
+    void wrappedCausesAreInspected() {
+        assertThat(ResilientPaymentGateway.isProviderFault(
+                new PaymentGatewayException("call failed", new IOException("broken pipe"))
+        )).isTrue();
+        assertThat(ResilientPaymentGateway.isProviderFault(new PaymentGatewayException(
+                "call failed",
+                new InvalidRequestException("bad amount", "amount", "req_1", "parameter_invalid", 400, null)
+        ))).isFalse();
+    }
+}
@@ -0,0 +1,22 @@
+package com.karunamay.airlink.service.payment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripePaymentServiceTests {
+
+    @Test
+    void parsesNumericBookingIds() {
+        assertThat(StripePaymentService.parseBookingId("42")).isEqualTo(42L);
+        assertThat(StripePaymentService.parseBookingId(" 42 ")).isEqualTo(42L);
+    }
+
+    @Test
+    void malformedBookingIdsAreQueuedWithoutABooking() {
+        assertThat(StripePaymentService.parseBookingId(null)).isNull();
+        assertThat(StripePaymentService.parseBookingId("")).isNull();
+        assertThat(StripePaymentService.parseBookingId("booking-42")).isNull();
+        assertThat(StripePaymentService.parseBookingId("99999999999999999999")).isNull();
+    }
+}
@@ -0,0 +1,104 @@
+package com.karunamay.airlink.service.security;
+
+import com.karunamay.airlink.config.RateLimitProperties;
+import com.karunamay.airlink.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        limit.setIpCapacity(2);
+        limit.setIpRefillPerMinute(1);
+        limit.setAccountCapacity(1);
+        limit.setAccountRefillPerMinute(1);
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void rejectsAnIpOverItsCapacityAndCountsTheRejection() {
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.checkIp("login", limit, "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting(e -> ((RateLimitExceededException) e).getRetryAfterInSec())
+                .satisfies(retryAfter -> assertThat((Long) retryAfter).isBetween(59L, 60L));
+        assertThat(meterRegistry.get("airlink.ratelimit.rejections")
+                .tag("endpoint", "login")
+                .tag("key", "ip")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsSeparateBucketsPerIpAndPerEndpoint() {
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+
+        assertThatCode(() -> rateLimiter.checkIp("login", limit, "10.0.0.2")).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.checkIp("refresh", limit, "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void treatsAccountsCaseAndWhitespaceInsensitively() {
+        rateLimiter.checkAccount("login", limit, "User@Example.com");
+
+        assertThatThrownBy(() -> rateLimiter.checkAccount("login", limit, " user@example.com "))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void requestsWithoutAnAccountShareOneBucket() {
+        rateLimiter.checkAccount("login", limit, null);
+
+        assertThatThrownBy(() -> rateLimiter.checkAccount("login", limit, null))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void disabledLimitsAreSkipped() {
+        limit.setIpCapacity(0);
+        limit.setAccountCapacity(0);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.checkIp("login", limit, "10.0.0.1");
+            rateLimiter.checkAccount("login", limit, "user@example.com");
+        }
+    }
+
+    @Test
+    void evictsIdleBucketsSoTheyStartFullAgain() throws InterruptedException {
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+
+        properties.setIdleEvictionInSec(0);
+        Thread.sleep(5);
+        rateLimiter.evictIdleBuckets();
+
+        assertThatCode(() -> rateLimiter.checkIp("login", limit, "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void keepsBucketsThatAreStillInUse() {
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+        rateLimiter.checkIp("login", limit, "10.0.0.1");
+
+        properties.setIdleEvictionInSec(600);
+        rateLimiter.evictIdleBuckets();
+
+        assertThatThrownBy(() -> rateLimiter.checkIp("login", limit, "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.karunamay.airlink.service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long START = 1_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFullAndRejectsOnceEmpty() {
+        TokenBucket bucket = new TokenBucket(3, 60, START);
+
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isFalse();
+    }
+
+    @Test
+    void refillsInProportionToElapsedTime() {
+        // 60 per minute is one token per second.
+        TokenBucket bucket = new TokenBucket(2, 60, START);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        assertThat(bucket.tryConsume(START + SECOND / 2)).isFalse();
+        assertThat(bucket.tryConsume(START + SECOND)).isTrue();
+        assertThat(bucket.tryConsume(START + SECOND)).isFalse();
+    }
+
+    @Test
+    void neverRefillsBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, START);
+        bucket.tryConsume(START);
+
+        long muchLater = START + TimeUnit.HOURS.toNanos(1);
+        assertThat(bucket.tryConsume(muchLater)).isTrue();
+        assertThat(bucket.tryConsume(muchLater)).isTrue();
+        assertThat(bucket.tryConsume(muchLater)).isFalse();
+    }
+
+    @Test
+    void clockGoingBackwardsAddsNoTokens() {
+        TokenBucket bucket = new TokenBucket(1, 60, START);
+        bucket.tryConsume(START + SECOND);
+
+        assertThat(bucket.tryConsume(START)).isFalse();
+    }
+
+    @Test
+    void reportsSecondsUntilTheNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 6, START);
+        assertThat(bucket.secondsUntilNextToken(START)).isZero();
+
+        bucket.tryConsume(START);
+        assertThat(bucket.secondsUntilNextToken(START)).isEqualTo(10);
+        assertThat(bucket.secondsUntilNextToken(START + 9 * SECOND)).isEqualTo(1);
+    }
+
+    @Test
+    void bucketWithoutRefillAsksForAMinute() {
+        TokenBucket bucket = new TokenBucket(1, 0, START);
+        bucket.tryConsume(START);
+
+        assertThat(bucket.secondsUntilNextToken(START)).isEqualTo(60);
+    }
+
+    @Test
+    void isIdleOnlyAfterTheIdleWindowSinceLastUse() {
+        TokenBucket bucket = new TokenBucket(1, 60, START);
+        bucket.tryConsume(START + SECOND);
+
+        assertThat(bucket.isIdle(START + 2 * SECOND, SECOND)).isFalse();
+        assertThat(bucket.isIdle(START + 3 * SECOND, SECOND)).isTrue();
+    }
+
+    @Test
+    void concurrentConsumersNeverTakeMoreThanCapacity() throws Exception {
+        int capacity = 1_000;
+        int threads = 16;
+        int attemptsPerThread = 200;
+        TokenBucket bucket = new TokenBucket(capacity, 0, START);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int consumed = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (bucket.tryConsume(START)) {
+                            consumed++;
+                        }
+                    }
+                    return consumed;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.karunamay.airlink.service.sql;
+
+import com.karunamay.airlink.config.SqlBudgetProperties;
+import com.karunamay.airlink.model.booking.Booking;
+import com.karunamay.airlink.model.booking.Gender;
+import com.karunamay.airlink.model.booking.Passenger;
+import com.karunamay.airlink.model.booking.Suffix;
+import com.karunamay.airlink.model.flight.*;
+import com.karunamay.airlink.model.user.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The request joins the test transaction, so the fixture is flushed and detached first: every entity the
+// endpoint maps has to come from SQL, as it would in production, and is rolled back afterwards.
+@SpringBootTest(properties = "app.sqlBudget.enabled=true")
+@AutoConfigureMockMvc
+@Transactional
+class BookingSqlBudgetTests {
+
+    private static final int PASSENGERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SqlBudgetProperties sqlBudgetProperties;
+
+    private Long bookingId;
+
+    @BeforeEach
+    void createBooking() {
+        // Three base-36 characters keep every code inside its column's length and clear of other test data.
+        String suffix = String.format("%3s", Long.toString(System.nanoTime() % 46_656, 36))
+                .replace(' ', '0')
+                .toUpperCase();
+
+        Airline airline = Airline.builder().code("Z" + suffix.charAt(0)).name("Budget Test Air " + suffix).build();
+        Airport source = Airport.builder().code("Y" + suffix).name("Budget Source " + suffix).city("Source").build();
+        Airport destination = Airport.builder().code("X" + suffix).name("Budget Dest " + suffix).city("Dest").build();
+        Aircraft aircraft = Aircraft.builder()
+                .model("A320")
+                .registrationNumber("VT-" + suffix)
+                .capacity(180)
+                .airline(airline)
+                .build();
+        LocalDateTime departure = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.MINUTES);
+        Flight flight = Flight.builder()
+                .airline(airline)
+                .aircraft(aircraft)
+                .srcAirport(source)
+                .destAirport(destination)
+                .flightNo("ZB" + suffix)
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .basePrice(BigDecimal.valueOf(4500))
+                .build();
+        User user = User.builder()
+                .username("budget" + suffix)
+                .email("budget" + suffix + "@airlink.test")
+                .password("not-a-real-hash")
+                .build();
+        Booking booking = Booking.builder()
+                .user(user)
+                .flight(flight)
+                .totalAmount(BigDecimal.valueOf(4500L * PASSENGERS))
+                .passengerCount(PASSENGERS)
+                .pnrCode("BT" + suffix)
+                .build();
+
+        entityManager.persist(airline);
+        entityManager.persist(source);
+        entityManager.persist(destination);
+        entityManager.persist(aircraft);
+        entityManager.persist(flight);
+        entityManager.persist(user);
+
+        for (int i = 0; i < PASSENGERS; i++) {
+            Seat seat = Seat.builder()
+                    .flight(flight)
+                    .seatNo((i + 1) + "A")
+                    .seatClass(SeatClass.ECONOMY)
+                    .priceModifier(BigDecimal.ONE)
+                    .departureTime(departure)
+                    .build();
+            entityManager.persist(seat);
+            Passenger passenger = Passenger.builder()
+                    .firstName("Passenger")
+                    .lastName("Number" + i)
+                    .suffix(Suffix.MR)
+                    .dob(LocalDate.of(1990, 1, 1))
+                    .gender(Gender.MALE)
+                    .govtIdNo("ID" + suffix + i)
+                    .email("passenger" + i + "@airlink.test")
+                    .phone("9000000000")
+                    .seat(seat)
+                    .build();
+            booking.addPassenger(passenger);
+            booking.addSeat(seat);
+        }
+        entityManager.persist(booking);
+
+        entityManager.flush();
+        entityManager.clear();
+        bookingId = booking.getId();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getBookingStaysWithinItsSqlBudget() throws Exception {
+        int budget = sqlBudgetProperties.getEndpoints().get("booking").getMaxStatements();
+
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start("GET /bookings/{id}")) {
+            mockMvc.perform(get("/bookings/{id}", bookingId)).andExpect(status().isOk());
+
+            // One statement per passenger would repeat PASSENGERS times.
+            recording.assertStatementsAtMost(budget).assertNoRepeatedStatements(PASSENGERS);
+        }
+    }
+}
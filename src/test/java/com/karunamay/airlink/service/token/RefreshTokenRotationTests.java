@@ -0,0 +1,113 @@
+package com.karunamay.airlink.service.token;
+
+import com.karunamay.airlink.exceptions.JwtAuthenticationException;
+import com.karunamay.airlink.model.token.RefreshTokenFamily;
+import com.karunamay.airlink.model.user.User;
+import com.karunamay.airlink.repository.token.RefreshTokenFamilyRepository;
+import com.karunamay.airlink.service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class RefreshTokenRotationTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Autowired
+    private JwtTokenProvider jwt;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = User.builder()
+                .username("rotation" + suffix)
+                .email("rotation" + suffix + "@airlink.test")
+                .password("not-a-real-hash")
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void rotationHandsOutANewTokenAndRetiresTheOldOne() {
+        Claims issued = claims(refreshTokenService.issue(user));
+
+        Claims rotated = claims(refreshTokenService.rotate(issued, user));
+
+        assertThat(rotated.get(JwtTokenProvider.FAMILY_CLAIM, String.class))
+                .isEqualTo(issued.get(JwtTokenProvider.FAMILY_CLAIM, String.class));
+        assertThat(rotated.getId()).isNotEqualTo(issued.getId());
+        assertThat(family(rotated).getCurrentTokenId()).isEqualTo(rotated.getId());
+        assertThat(family(rotated).isRevoked()).isFalse();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        Claims issued = claims(refreshTokenService.issue(user));
+        Claims rotated = claims(refreshTokenService.rotate(issued, user));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued, user))
+                .isInstanceOf(JwtAuthenticationException.class);
+
+        assertThat(family(issued).isRevoked()).isTrue();
+        // The legitimate holder's token dies with the family.
+        assertThatThrownBy(() -> refreshTokenService.rotate(rotated, user))
+                .isInstanceOf(JwtAuthenticationException.class);
+    }
+
+    @Test
+    void rotationNeverExtendsPastTheAbsoluteExpiry() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime absoluteExpiresAt = now.plusHours(1);
+        String familyId = UUID.randomUUID().toString();
+        refreshTokenFamilyRepository.save(
+                RefreshTokenFamily.builder()
+                        .id(familyId)
+                        .currentTokenId("current")
+                        .user(user)
+                        .expiresAt(now.plusMinutes(30))
+                        .absoluteExpiresAt(absoluteExpiresAt)
+                        .build()
+        );
+        entityManager.flush();
+
+        int rotated = refreshTokenFamilyRepository.rotate(familyId, "current", "next", now.plusDays(30), now);
+        entityManager.clear();
+
+        assertThat(rotated).isEqualTo(1);
+        assertThat(refreshTokenFamilyRepository.findById(familyId).orElseThrow().getExpiresAt())
+                .isEqualTo(absoluteExpiresAt);
+    }
+
+    private Claims claims(String token) {
+        return jwt.validateAndParseClaims(token).getPayload();
+    }
+
+    private RefreshTokenFamily family(Claims claims) {
+        entityManager.clear();
+        return refreshTokenFamilyRepository.findById(claims.get(JwtTokenProvider.FAMILY_CLAIM, String.class))
+                .orElseThrow();
+    }
+}